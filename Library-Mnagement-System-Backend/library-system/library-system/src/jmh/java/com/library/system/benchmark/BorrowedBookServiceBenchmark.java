@@ -0,0 +1,86 @@
+package com.library.system.benchmark;
+
+import com.library.system.model.Book;
+import com.library.system.model.BorrowedBook;
+import com.library.system.model.User;
+import com.library.system.repository.BookRepository;
+import com.library.system.repository.BorrowedBookRepository;
+import com.library.system.repository.UserRepository;
+import com.library.system.service.BorrowedBookServiceImpl;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures fine calculation for a single loan and the unpaid-fine total for a user
+ * with a varying number of loans. Repositories are replaced by in-memory stubs, so
+ * only the service logic is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BorrowedBookServiceBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int loansPerUser;
+
+    private BorrowedBookServiceImpl service;
+    private BorrowedBook overdueLoan;
+
+    @Setup
+    public void setUp() {
+        User user = User.builder().id(1L).name("Reader").email("reader@library.local").role("user").build();
+        List<BorrowedBook> loans = new ArrayList<>(loansPerUser);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < loansPerUser; i++) {
+            Book book = Book.builder().id((long) i).title("Book " + i).availableCopies(1).build();
+            loans.add(BorrowedBook.builder()
+                    .id((long) i)
+                    .user(user)
+                    .book(book)
+                    .borrowDate(today.minusDays(30))
+                    .returnDate(today.minusDays(i % 20 - 10))
+                    .returned(i % 3 == 0)
+                    .status("Pending")
+                    .build());
+        }
+        overdueLoan = BorrowedBook.builder().returnDate(today.minusDays(7)).status("Pending").build();
+
+        UserRepository userRepository = stub(UserRepository.class, "findById", Optional.of(user));
+        BorrowedBookRepository borrowedBookRepository = stub(BorrowedBookRepository.class, "findByUser", loans);
+        BookRepository bookRepository = stub(BookRepository.class, "findById", Optional.empty());
+        service = new BorrowedBookServiceImpl(borrowedBookRepository, userRepository, bookRepository, null);
+    }
+
+    @Benchmark
+    public int calculateFine() {
+        return service.calculateFine(overdueLoan);
+    }
+
+    @Benchmark
+    public int getTotalUnpaidFineForUser() {
+        return service.getTotalUnpaidFineForUser(1L);
+    }
+
+    /**
+     * Creates a repository stub that answers one method with a fixed result.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, String methodName, Object result) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().equals(methodName)) {
+                return result;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+}
@@ -0,0 +1,119 @@
+package com.library.system.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.library.system.dto.BookResponse;
+import com.library.system.dto.BorrowedBookResponse;
+import com.library.system.model.Book;
+import com.library.system.model.BorrowedBook;
+import com.library.system.model.User;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Jackson serialization of the book list and MyBooks (borrow list) payloads,
+ * using a mapper configured like Spring Boot's, with and without the Blackbird module.
+ *
+ * The {@code entity} methods serialize the JPA entities as the endpoints used to return
+ * them; the {@code dto} methods serialize the response records returned now. The payload
+ * size of each variant is printed during setup as bytes per response; scores are responses per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean blackbird;
+
+    private ObjectMapper objectMapper;
+    private List<Book> books;
+    private List<BorrowedBook> loans;
+    private List<BookResponse> bookResponses;
+    private List<BorrowedBookResponse> loanResponses;
+
+    @Setup
+    public void setUp() {
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (blackbird) {
+            builder.addModule(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        User user = User.builder().id(1L).name("Reader").email("reader@library.local")
+                .password("$2a$10$abcdefghijklmnopqrstuv").role("user").mobile("9876543210").build();
+        books = new ArrayList<>(size);
+        loans = new ArrayList<>(size);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < size; i++) {
+            Book book = Book.builder()
+                    .id((long) i)
+                    .title("Book title " + i)
+                    .author("Author " + (i % 50))
+                    .category("Category " + (i % 10))
+                    .totalCopies(5)
+                    .availableCopies(3)
+                    .available(true)
+                    .cover("https://covers.example.org/" + i + ".jpg")
+                    .description("A description of book " + i + " that is about as long as a short blurb.")
+                    .build();
+            books.add(book);
+            loans.add(BorrowedBook.builder()
+                    .id((long) i)
+                    .user(user)
+                    .book(book)
+                    .borrowDate(today.minusDays(10))
+                    .returnDate(today.plusDays(4))
+                    .status("Pending")
+                    .build());
+        }
+        bookResponses = books.stream().map(BookResponse::from).toList();
+        loanResponses = loans.stream().map(BorrowedBookResponse::from).toList();
+
+        try {
+            System.out.printf("%n[size=%d] bytes per response: books entity=%d dto=%d, MyBooks entity=%d dto=%d%n",
+                    size,
+                    objectMapper.writeValueAsBytes(books).length,
+                    objectMapper.writeValueAsBytes(bookResponses).length,
+                    objectMapper.writeValueAsBytes(loans).length,
+                    objectMapper.writeValueAsBytes(loanResponses).length);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeBooksEntity() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] serializeBooksDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookResponses);
+    }
+
+    @Benchmark
+    public byte[] serializeMyBooksEntity() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(loans);
+    }
+
+    @Benchmark
+    public byte[] serializeMyBooksDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(loanResponses);
+    }
+}
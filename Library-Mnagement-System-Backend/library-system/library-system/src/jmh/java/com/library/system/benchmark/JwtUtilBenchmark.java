@@ -0,0 +1,75 @@
+package com.library.system.benchmark;
+
+import com.library.system.util.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JWT verification cost of one authenticated profile request.
+ *
+ * {@code legacyProfileRequest} reproduces the previous behaviour, where
+ * validateToken and getEmailFromToken each rebuilt the key and parser and
+ * verified the token again. The other benchmarks use the shared key and parser,
+ * with and without the verified-token cache, plus token generation and validation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmark-secret-that-is-long-enough-for-hs256-signing";
+
+    private JwtUtil cachedJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedJwtUtil = new JwtUtil(SECRET, 10_000);
+        uncachedJwtUtil = new JwtUtil(SECRET, 0);
+        token = cachedJwtUtil.generateToken("reader@library.local", 1L, "user");
+    }
+
+    @Benchmark
+    public String legacyProfileRequest() {
+        Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token);
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String parseClaimsUncached() {
+        return uncachedJwtUtil.parseClaims(token).map(Claims::getSubject).orElse(null);
+    }
+
+    @Benchmark
+    public String parseClaimsCached() {
+        return cachedJwtUtil.parseClaims(token).map(Claims::getSubject).orElse(null);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncachedJwtUtil.generateToken("reader@library.local", 1L, "user");
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncachedJwtUtil.validateToken(token);
+    }
+}
@@ -0,0 +1,288 @@
+package com.library.system.batch;
+
+import com.library.system.dto.BatchCheckpointResponse;
+import com.library.system.model.BatchCheckpoint;
+import com.library.system.repository.BatchCheckpointRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Executes chunk-oriented {@link BatchStep}s.
+ *
+ * The reader runs on the calling thread and hands each chunk to the bounded
+ * batch executor, where it is processed and written in its own transaction.
+ * At most {@code batch.threads} chunks of a run are in flight at once.
+ * Chunks may commit out of order, so the checkpoint only advances to the last
+ * key up to which every chunk has committed; a crashed or failed run resumes
+ * from there and re-processes at most the chunks that were in flight.
+ * Step durations and item counts are recorded as {@code library.batch.*} metrics.
+ */
+@Component
+public class BatchJobRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchJobRunner.class);
+
+    private final BatchCheckpointRepository checkpointRepository;
+    private final TaskExecutor batchExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Most recent execution of each step, for monitoring.
+     */
+    private final Map<String, BatchRunStats> lastRuns = new ConcurrentHashMap<>();
+
+    @Value("${batch.threads:4}")
+    private int parallelism;
+
+    public BatchJobRunner(BatchCheckpointRepository checkpointRepository,
+                          @Qualifier("batchExecutor") TaskExecutor batchExecutor,
+                          TransactionTemplate transactionTemplate,
+                          MeterRegistry meterRegistry) {
+        this.checkpointRepository = checkpointRepository;
+        this.batchExecutor = batchExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs a step for the given run key, resuming from its checkpoint if the run
+     * was started before. A run that has already completed is skipped.
+     *
+     * @param step the step to run
+     * @param runKey the run identifier (e.g. the run date)
+     * @return statistics for this execution
+     * @throws IllegalStateException if a chunk fails; the checkpoint keeps the progress made
+     */
+    public <I, O> BatchRunStats run(BatchStep<I, O> step, String runKey) {
+        return run(step, runKey, () -> true);
+    }
+
+    /**
+     * Runs a step like {@link #run(BatchStep, String)}, checking before each chunk is
+     * read whether the run may continue. Once the check fails no more chunks are
+     * started, and the run fails after the chunks in flight have finished.
+     *
+     * @param step the step to run
+     * @param runKey the run identifier (e.g. the run date)
+     * @param mayContinue checked before each chunk, e.g. whether a lease is still held
+     * @return statistics for this execution
+     * @throws IllegalStateException if a chunk fails or the check fails; the checkpoint keeps the progress made
+     */
+    public <I, O> BatchRunStats run(BatchStep<I, O> step, String runKey, BooleanSupplier mayContinue) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        String checkpointId = step.name() + "@" + runKey;
+
+        BatchCheckpoint checkpoint = checkpointRepository.findById(checkpointId).orElse(null);
+        if (checkpoint != null && BatchCheckpoint.STATUS_COMPLETED.equals(checkpoint.getStatus())) {
+            return record(new BatchRunStats(step.name(), runKey, "Skipped", 0, 0, 0, startedAt, 0, 0));
+        }
+        if (checkpoint == null) {
+            checkpoint = BatchCheckpoint.builder()
+                    .id(checkpointId)
+                    .stepName(step.name())
+                    .runKey(runKey)
+                    .startedAt(startedAt)
+                    .build();
+        } else if (checkpoint.getLastKey() > 0) {
+            log.info("Resuming batch step {} for run {} after key {}", step.name(), runKey, checkpoint.getLastKey());
+        }
+        checkpoint.setStatus(BatchCheckpoint.STATUS_RUNNING);
+        checkpoint.setUpdatedAt(startedAt);
+        checkpointRepository.save(checkpoint);
+
+        ChunkTracker tracker = new ChunkTracker(checkpointId);
+        Semaphore inFlight = new Semaphore(parallelism);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        long cursor = checkpoint.getLastKey();
+        long sequence = 0;
+        while (failure.get() == null) {
+            if (!mayContinue.getAsBoolean()) {
+                failure.compareAndSet(null, new IllegalStateException("Run stopped before key " + cursor));
+                break;
+            }
+            List<I> items = step.reader().read(cursor, step.chunkSize());
+            if (items.isEmpty()) {
+                break;
+            }
+            long chunkSequence = sequence++;
+            long chunkLastKey = step.reader().keyOf(items.get(items.size() - 1));
+            cursor = chunkLastKey;
+
+            inFlight.acquireUninterruptibly();
+            try {
+                batchExecutor.execute(() -> {
+                    try {
+                        int written = processChunk(step, items);
+                        tracker.complete(chunkSequence, chunkLastKey, items.size(), written);
+                    } catch (RuntimeException ex) {
+                        failure.compareAndSet(null, ex);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } catch (RuntimeException ex) {
+                inFlight.release();
+                failure.compareAndSet(null, ex);
+            }
+
+            if (items.size() < step.chunkSize()) {
+                break;
+            }
+        }
+
+        // Wait for the chunks still in flight
+        inFlight.acquireUninterruptibly(parallelism);
+        inFlight.release(parallelism);
+
+        long durationMs = (System.nanoTime() - startNanos) / 1_000_000;
+        boolean failed = failure.get() != null;
+        checkpointRepository.finish(checkpointId,
+                failed ? BatchCheckpoint.STATUS_FAILED : BatchCheckpoint.STATUS_COMPLETED,
+                failed ? null : LocalDateTime.now(),
+                durationMs);
+
+        BatchRunStats stats = record(new BatchRunStats(step.name(), runKey,
+                failed ? BatchCheckpoint.STATUS_FAILED : BatchCheckpoint.STATUS_COMPLETED,
+                tracker.itemsRead.get(), tracker.itemsWritten.get(), tracker.chunks.get(),
+                startedAt, durationMs,
+                durationMs > 0 ? tracker.itemsRead.get() * 1000.0 / durationMs : tracker.itemsRead.get()));
+        log.info("Batch step {} for run {} {}: {} read, {} written, {} chunks in {} ms ({} items/s)",
+                step.name(), runKey, stats.status(), stats.itemsRead(), stats.itemsWritten(), stats.chunks(),
+                durationMs, String.format("%.1f", stats.itemsPerSecond()));
+        Timer.builder("library.batch.step")
+                .tag("step", step.name())
+                .tag("status", stats.status())
+                .register(meterRegistry)
+                .record(durationMs, TimeUnit.MILLISECONDS);
+        meterRegistry.counter("library.batch.items", "step", step.name(), "type", "read").increment(stats.itemsRead());
+        meterRegistry.counter("library.batch.items", "step", step.name(), "type", "written").increment(stats.itemsWritten());
+
+        if (failed) {
+            throw new IllegalStateException("Batch step " + step.name() + " failed for run " + runKey, failure.get());
+        }
+        return stats;
+    }
+
+    /**
+     * Gets the most recent execution of every step run since startup.
+     *
+     * @return the latest statistics per step
+     */
+    public List<BatchRunStats> getLastRuns() {
+        return new ArrayList<>(lastRuns.values());
+    }
+
+    /**
+     * Gets the checkpoints of the most recent runs across all nodes.
+     *
+     * @return up to 50 checkpoints, newest first
+     */
+    public List<BatchCheckpointResponse> getRecentCheckpoints() {
+        return checkpointRepository.findTop50ByOrderByStartedAtDesc().stream()
+                .map(BatchCheckpointResponse::from)
+                .toList();
+    }
+
+    /**
+     * Processes and writes one chunk in a single transaction.
+     *
+     * @return the number of items written
+     */
+    private <I, O> int processChunk(BatchStep<I, O> step, List<I> items) {
+        Integer written = transactionTemplate.execute(status -> {
+            List<O> outputs = new ArrayList<>(items.size());
+            for (I item : items) {
+                O output = step.processor().process(item);
+                if (output != null) {
+                    outputs.add(output);
+                }
+            }
+            if (!outputs.isEmpty()) {
+                step.writer().write(outputs);
+            }
+            return outputs.size();
+        });
+        return written == null ? 0 : written;
+    }
+
+    private BatchRunStats record(BatchRunStats stats) {
+        lastRuns.put(stats.step(), stats);
+        return stats;
+    }
+
+    /**
+     * Tracks committed chunks of one run and advances the checkpoint to the
+     * highest key below which every chunk has committed.
+     */
+    private final class ChunkTracker {
+
+        private final String checkpointId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final TreeMap<Long, long[]> pending = new TreeMap<>();
+        private long nextSequence;
+
+        private final AtomicLong itemsRead = new AtomicLong();
+        private final AtomicLong itemsWritten = new AtomicLong();
+        private final AtomicLong chunks = new AtomicLong();
+
+        private ChunkTracker(String checkpointId) {
+            this.checkpointId = checkpointId;
+        }
+
+        private void complete(long sequence, long lastKey, int read, int written) {
+            itemsRead.addAndGet(read);
+            itemsWritten.addAndGet(written);
+            chunks.incrementAndGet();
+
+            // Checkpoint updates must be applied in key order, so they are made under the lock
+            lock.lock();
+            try {
+                pending.put(sequence, new long[] {lastKey, read, written});
+
+                long watermark = -1;
+                long readDelta = 0;
+                long writtenDelta = 0;
+                long chunkDelta = 0;
+                while (!pending.isEmpty() && pending.firstKey() == nextSequence) {
+                    long[] chunk = pending.pollFirstEntry().getValue();
+                    watermark = chunk[0];
+                    readDelta += chunk[1];
+                    writtenDelta += chunk[2];
+                    chunkDelta++;
+                    nextSequence++;
+                }
+                if (chunkDelta > 0) {
+                    checkpointRepository.advance(checkpointId, watermark, readDelta, writtenDelta, chunkDelta,
+                            LocalDateTime.now());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
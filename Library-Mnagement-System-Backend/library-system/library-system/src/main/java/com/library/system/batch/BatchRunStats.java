@@ -0,0 +1,27 @@
+package com.library.system.batch;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome and throughput of one execution of a batch step.
+ *
+ * @param step the step name
+ * @param runKey the run identifier
+ * @param status "Completed", "Failed" or "Skipped" (already completed earlier)
+ * @param itemsRead number of items read in this execution
+ * @param itemsWritten number of items written in this execution
+ * @param chunks number of chunks processed in this execution
+ * @param startedAt when this execution started
+ * @param durationMs execution time in milliseconds
+ * @param itemsPerSecond items read per second
+ */
+public record BatchRunStats(String step,
+                            String runKey,
+                            String status,
+                            long itemsRead,
+                            long itemsWritten,
+                            long chunks,
+                            LocalDateTime startedAt,
+                            long durationMs,
+                            double itemsPerSecond) {
+}
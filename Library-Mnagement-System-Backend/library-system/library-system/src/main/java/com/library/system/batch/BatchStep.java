@@ -0,0 +1,20 @@
+package com.library.system.batch;
+
+/**
+ * Definition of a chunk-oriented batch step: a reader, a processor and a writer
+ * applied to chunks of {@code chunkSize} items.
+ *
+ * @param name unique step name, used as the checkpoint key together with the run key
+ * @param reader the item reader
+ * @param processor the item processor
+ * @param writer the item writer
+ * @param chunkSize number of items read, processed and written per transaction
+ * @param <I> the input item type
+ * @param <O> the output item type
+ */
+public record BatchStep<I, O>(String name,
+                              ItemReader<I> reader,
+                              ItemProcessor<I, O> processor,
+                              ItemWriter<O> writer,
+                              int chunkSize) {
+}
@@ -0,0 +1,19 @@
+package com.library.system.batch;
+
+/**
+ * Transforms a single item of a batch step.
+ *
+ * @param <I> the input item type
+ * @param <O> the output item type
+ */
+@FunctionalInterface
+public interface ItemProcessor<I, O> {
+
+    /**
+     * Processes an item.
+     *
+     * @param item the item read by the reader
+     * @return the item to write, or null to skip it
+     */
+    O process(I item);
+}
@@ -0,0 +1,30 @@
+package com.library.system.batch;
+
+import java.util.List;
+
+/**
+ * Reads the items of a batch step in chunks, in ascending key order.
+ * Readers are keyset-based so that a step can resume after the last
+ * checkpointed key without keeping any cursor state in memory.
+ *
+ * @param <T> the item type
+ */
+public interface ItemReader<T> {
+
+    /**
+     * Reads the next chunk of items whose key is greater than {@code afterKey}.
+     *
+     * @param afterKey the key of the last item already read (0 to start from the beginning)
+     * @param chunkSize the maximum number of items to read
+     * @return the items in ascending key order, or an empty list when there are no more
+     */
+    List<T> read(long afterKey, int chunkSize);
+
+    /**
+     * Gets the key of an item, used as the resume position.
+     *
+     * @param item the item
+     * @return the item key
+     */
+    long keyOf(T item);
+}
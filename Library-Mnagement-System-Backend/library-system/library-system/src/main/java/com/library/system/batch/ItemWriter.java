@@ -0,0 +1,21 @@
+package com.library.system.batch;
+
+import java.util.List;
+
+/**
+ * Writes a processed chunk of a batch step. Called inside the chunk's transaction.
+ * Writers must be idempotent, since chunks after the last checkpoint are
+ * processed again when a crashed run is resumed.
+ *
+ * @param <O> the item type
+ */
+@FunctionalInterface
+public interface ItemWriter<O> {
+
+    /**
+     * Writes the processed items of one chunk.
+     *
+     * @param items the processed items (never empty)
+     */
+    void write(List<O> items);
+}
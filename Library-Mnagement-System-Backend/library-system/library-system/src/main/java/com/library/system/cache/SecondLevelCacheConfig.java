@@ -0,0 +1,108 @@
+package com.library.system.cache;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ObjectUtils;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Configures Hibernate's second-level and query caches on a local Ehcache (JCache) manager.
+ *
+ * Each application context gets its own manager, identified by a URI unique to the context,
+ * so contexts started in the same JVM (tests, restarts in dev tools) never share regions.
+ * Every region is created here with a heap limit from {@link SecondLevelCacheProperties},
+ * so a missing region fails startup instead of silently growing without bound.
+ * The update-timestamps region is never expired or evicted, as query cache results
+ * would otherwise be served after the tables they read have changed.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /**
+     * Region of the {@code Book} entity.
+     */
+    public static final String BOOK_REGION = "book";
+
+    /**
+     * Region of the {@code User} entity.
+     */
+    public static final String USER_REGION = "user";
+
+    /**
+     * Query cache region of user lookups by email and mobile.
+     */
+    public static final String USER_LOOKUP_REGION = "user-lookups";
+
+    private static final String DEFAULT_QUERY_REGION = "default-query-results-region";
+    private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    /**
+     * Creates the cache manager and its regions. Not created at all when the caches are
+     * disabled, which keeps Ehcache out of builds (such as the native image) that turn them off.
+     *
+     * @param properties the cache settings
+     * @return the JCache manager used by Hibernate
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName());
+        URI uri = URI.create("urn:library-system:hibernate-cache:" + ObjectUtils.getIdentityHexString(this));
+        CacheManager cacheManager = provider.getCacheManager(uri,
+                new DefaultConfiguration(getClass().getClassLoader()));
+        createRegion(cacheManager, BOOK_REGION, properties.getBook());
+        createRegion(cacheManager, USER_REGION, properties.getUser());
+        createRegion(cacheManager, USER_LOOKUP_REGION, properties.getUserLookups());
+        createRegion(cacheManager, DEFAULT_QUERY_REGION, new SecondLevelCacheProperties.Region(1_000, 300));
+        createRegion(cacheManager, TIMESTAMPS_REGION, new SecondLevelCacheProperties.Region(10_000, 0));
+        return cacheManager;
+    }
+
+    /**
+     * Points Hibernate at the cache manager, or turns the caches off when disabled.
+     *
+     * @param cacheManager the JCache manager, absent when the caches are disabled
+     * @param properties the cache settings
+     * @return the Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(ObjectProvider<CacheManager> cacheManager,
+                                                                    SecondLevelCacheProperties properties) {
+        return hibernateProperties -> {
+            boolean enabled = properties.isEnabled();
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            if (enabled) {
+                hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager.getObject());
+                hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            }
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, SecondLevelCacheProperties.Region limits) {
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                Object.class, Object.class, ResourcePoolsBuilder.heap(limits.getMaxEntries()));
+        if (limits.getTimeToLiveSeconds() > 0) {
+            builder = builder.withExpiry(
+                    ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(limits.getTimeToLiveSeconds())));
+        }
+        cacheManager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(builder));
+    }
+}
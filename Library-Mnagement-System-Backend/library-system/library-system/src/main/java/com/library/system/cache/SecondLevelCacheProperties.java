@@ -0,0 +1,60 @@
+package com.library.system.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Hibernate second-level cache settings bound from {@code app.cache.*} properties.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.cache")
+@Data
+public class SecondLevelCacheProperties {
+
+    /**
+     * Whether the second-level and query caches are used at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Limits of the {@code Book} entity region.
+     */
+    private Region book = new Region(10_000, 600);
+
+    /**
+     * Limits of the {@code User} entity region.
+     */
+    private Region user = new Region(10_000, 300);
+
+    /**
+     * Limits of the region holding email and mobile lookup results.
+     */
+    private Region userLookups = new Region(10_000, 300);
+
+    /**
+     * Heap limit and expiry of one cache region.
+     */
+    @Data
+    public static class Region {
+
+        /**
+         * Maximum number of entries kept on the heap.
+         */
+        private long maxEntries;
+
+        /**
+         * Time after which an entry is dropped even if unchanged; 0 keeps entries until evicted.
+         */
+        private long timeToLiveSeconds;
+
+        public Region() {
+        }
+
+        public Region(long maxEntries, long timeToLiveSeconds) {
+            this.maxEntries = maxEntries;
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.library.system.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads hit, miss and size statistics of the second-level cache regions.
+ * The same counters are exported as {@code hibernate.second.level.cache.*} metrics.
+ */
+@Component
+public class SecondLevelCacheStats {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SecondLevelCacheStats(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Gets the statistics of every entity and query cache region.
+     * Counters stay at zero unless {@code hibernate.generate_statistics} is on.
+     *
+     * @return one entry per region
+     */
+    public List<RegionStats> getRegionStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<RegionStats> regions = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats == null) {
+                continue;
+            }
+            long hits = stats.getHitCount();
+            long lookups = hits + stats.getMissCount();
+            long entries = stats.getElementCountInMemory();
+            regions.add(new RegionStats(region, hits, stats.getMissCount(), stats.getPutCount(),
+                    entries == CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN ? -1 : entries,
+                    lookups == 0 ? 0 : (double) hits / lookups));
+        }
+        return regions;
+    }
+
+    /**
+     * Statistics of one cache region.
+     *
+     * @param region the region name
+     * @param hits number of lookups served from the cache
+     * @param misses number of lookups that went to the database
+     * @param puts number of entries stored
+     * @param entries number of entries currently on the heap, or -1 if unknown
+     * @param hitRatio hits divided by lookups
+     */
+    public record RegionStats(String region, long hits, long misses, long puts, long entries, double hitRatio) {
+    }
+}
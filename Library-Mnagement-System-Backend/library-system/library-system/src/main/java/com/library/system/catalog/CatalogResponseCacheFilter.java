@@ -0,0 +1,252 @@
+package com.library.system.catalog;
+
+import com.library.system.ratelimit.RateLimitFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves catalog GET responses from a cache of serialized, precompressed bodies.
+ *
+ * The first request for a catalog URL runs normally; its JSON body is stored together
+ * with a gzip copy, tagged with the {@link CatalogVersion} it was produced under. Later
+ * requests get the stored bytes (gzip if the client accepts it) until the catalog
+ * changes or the entry reaches {@code catalog.cache.ttl-seconds}, so the list is neither
+ * re-queried, re-serialized nor recompressed per request. Responses carry an ETag derived
+ * from the body bytes, so every node and restart tags the same list alike, and a matching
+ * {@code If-None-Match} gets 304 with no body. When the cache is full, stale entries and
+ * then the oldest ones make room for new URLs.
+ *
+ * Hits never reach the controller, so the CORS headers it produced are stored with the body
+ * and replayed. Entries are kept per {@code Origin}, as those headers depend on it.
+ *
+ * Other responses are compressed by the server ({@code server.compression.*}); it leaves
+ * responses that already have a Content-Encoding alone. Hits and misses are counted in
+ * {@code library.catalog.cache}.
+ */
+@Component
+@Order(CatalogResponseCacheFilter.ORDER)
+public class CatalogResponseCacheFilter extends OncePerRequestFilter {
+
+    public static final int ORDER = RateLimitFilter.ORDER + 10;
+
+    private static final List<String> CATALOG_PATTERNS = List.of(
+            "/api/books/all", "/api/books/available", "/api/books/categories", "/api/books/category/*");
+
+    private final CatalogVersion catalogVersion;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, CachedBody> cache = new ConcurrentHashMap<>();
+
+    @Value("${catalog.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${catalog.cache.max-entries:200}")
+    private int maxEntries;
+
+    @Value("${catalog.cache.ttl-seconds:5}")
+    private long ttlSeconds;
+
+    @Value("${catalog.cache.min-compress-bytes:1024}")
+    private int minCompressBytes;
+
+    public CatalogResponseCacheFilter(CatalogVersion catalogVersion, MeterRegistry meterRegistry) {
+        this.catalogVersion = catalogVersion;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : CATALOG_PATTERNS) {
+            if (pathMatcher.match(pattern, path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String origin = request.getHeader(HttpHeaders.ORIGIN);
+        String key = (origin == null ? "" : origin + " ") + (request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString());
+        long version = catalogVersion.current();
+
+        CachedBody cached = cache.get(key);
+        if (cached != null && isFresh(cached, version, System.nanoTime())) {
+            meterRegistry.counter("library.catalog.cache", "result", "hit").increment();
+            write(cached, request, response);
+            return;
+        }
+        meterRegistry.counter("library.catalog.cache", "result", "miss").increment();
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+
+        // Only cache complete JSON bodies produced under a version that is still current
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || catalogVersion.current() != version) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        byte[] body = wrapper.getContentAsByteArray();
+        CachedBody entry = new CachedBody(version, System.nanoTime(), wrapper.getContentType(), body,
+                body.length >= minCompressBytes ? gzip(body) : null,
+                "\"" + DigestUtils.md5DigestAsHex(body) + "\"", replayedHeaders(response));
+        if (!cache.containsKey(key) && cache.size() >= maxEntries) {
+            makeRoom(version);
+        }
+        cache.put(key, entry);
+        write(entry, request, response);
+    }
+
+    private boolean isFresh(CachedBody body, long version, long nowNanos) {
+        return body.version() == version && nowNanos - body.createdAtNanos() < TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    /**
+     * Drops entries from older catalog versions or past their TTL, and if none were,
+     * the oldest entries, until there is room for one more.
+     */
+    private void makeRoom(long version) {
+        long now = System.nanoTime();
+        cache.values().removeIf(body -> !isFresh(body, version, now));
+        if (cache.size() < maxEntries) {
+            return;
+        }
+        List<Map.Entry<String, CachedBody>> entries = new ArrayList<>(cache.entrySet());
+        entries.sort(Comparator.comparingLong(entry -> entry.getValue().createdAtNanos()));
+        for (int i = 0; i <= entries.size() - maxEntries; i++) {
+            cache.remove(entries.get(i).getKey(), entries.get(i).getValue());
+        }
+    }
+
+    /**
+     * Copies the CORS headers and Vary values the controller produced, to replay on hits.
+     */
+    private static Map<String, List<String>> replayedHeaders(HttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (name.regionMatches(true, 0, "Access-Control-", 0, 15) || name.equalsIgnoreCase(HttpHeaders.VARY)) {
+                headers.put(name, List.copyOf(response.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * Writes a cached body, or 304 if the client already has this version.
+     */
+    private static void write(CachedBody body, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        boolean gzip = body.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? "\"gz-" + body.etag().substring(1) : body.etag();
+        Set<String> vary = new LinkedHashSet<>();
+        for (Map.Entry<String, List<String>> header : body.headers().entrySet()) {
+            if (header.getKey().equalsIgnoreCase(HttpHeaders.VARY)) {
+                header.getValue().forEach(value -> vary.addAll(List.of(value.split("\\s*,\\s*"))));
+                continue;
+            }
+            response.setHeader(header.getKey(), header.getValue().get(0));
+            header.getValue().stream().skip(1).forEach(value -> response.addHeader(header.getKey(), value));
+        }
+        vary.add(HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.VARY, String.join(", ", vary));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(body.contentType());
+        byte[] bytes = gzip ? body.gzip() : body.body();
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    /**
+     * Checks if an Accept-Encoding header allows gzip (present and not {@code q=0}).
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=") && Double.parseDouble(param.substring(2)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * A serialized catalog response.
+     *
+     * @param version the catalog version it was produced under
+     * @param createdAtNanos when it was stored, from {@link System#nanoTime()}
+     * @param contentType the response content type
+     * @param body the uncompressed body
+     * @param gzip the gzip-compressed body, or null if the body is below the compression threshold
+     * @param etag the entity tag of the uncompressed body, an MD5 of its bytes
+     * @param headers the CORS and Vary headers of the original response
+     */
+    private record CachedBody(long version, long createdAtNanos, String contentType, byte[] body, byte[] gzip,
+                              String etag, Map<String, List<String>> headers) {
+    }
+}
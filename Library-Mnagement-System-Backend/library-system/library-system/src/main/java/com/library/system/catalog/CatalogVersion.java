@@ -0,0 +1,38 @@
+package com.library.system.catalog;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the book catalog on this node, advanced whenever a change to books
+ * or their availability commits. Cached catalog responses are only served while
+ * their version is current.
+ *
+ * The version is advanced synchronously on the committing thread by
+ * {@link com.library.system.events.LibraryEventPublisher}, not through the event bus,
+ * so a cached list never outlives a commit even if the bus lags or drops the event.
+ * It is local; changes made on other nodes are picked up when cached responses reach
+ * {@code catalog.cache.ttl-seconds}.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Gets the current version.
+     *
+     * @return the version
+     */
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Advances the version. Call after the change has committed.
+     */
+    public void changed() {
+        version.incrementAndGet();
+    }
+}
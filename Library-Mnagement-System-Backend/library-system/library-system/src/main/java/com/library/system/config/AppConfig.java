@@ -1,9 +1,15 @@
 package com.library.system.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 /**
  * Configuration class for application-wide beans.
  */
@@ -12,11 +18,107 @@ public class AppConfig {
 
     /**
      * Provides a BCryptPasswordEncoder bean for hashing passwords securely.
+     * Existing hashes with a lower work factor are upgraded on the next successful login.
      *
+     * @param strength the BCrypt work factor (log2 rounds)
      * @return BCryptPasswordEncoder instance
      */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Provides the bounded executor used to deliver outbox notifications,
+     * keeping slow SMS calls off request and scheduler threads.
+     *
+     * With {@code spring.threads.virtual.enabled=true} (Java 21+) every delivery runs on
+     * its own virtual thread instead, so blocking SMS calls no longer tie up a pool thread;
+     * concurrency is still capped at {@code outbox.relay.max-in-flight}.
+     *
+     * @param poolSize number of delivery threads
+     * @param queueCapacity number of messages that may wait for a thread
+     * @param maxInFlight maximum number of concurrent deliveries on virtual threads
+     * @param virtualThreads whether the application runs in virtual-thread mode
+     * @return TaskExecutor instance
+     */
+    @Bean
+    public TaskExecutor notificationExecutor(
+            @Value("${outbox.relay.threads:4}") int poolSize,
+            @Value("${outbox.relay.queue-capacity:200}") int queueCapacity,
+            @Value("${outbox.relay.max-in-flight:200}") int maxInFlight,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("notify-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(maxInFlight);
+            executor.setTaskTerminationTimeout(10_000);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("notify-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    /**
+     * Provides the bounded executor that processes batch job chunks in parallel.
+     * When it is saturated the submitting job thread processes the chunk itself.
+     *
+     * @param poolSize number of chunk worker threads
+     * @return ThreadPoolTaskExecutor instance
+     */
+    @Bean
+    public ThreadPoolTaskExecutor batchExecutor(@Value("${batch.threads:4}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(poolSize * 2);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("batch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Provides the bounded executor that hashes passwords during bulk user imports.
+     * It is separate from the login hashing pool, so an import never sheds logins;
+     * when it is saturated the importing thread hashes the password itself.
+     *
+     * @param poolSize number of hashing threads
+     * @return ThreadPoolTaskExecutor instance
+     */
+    @Bean
+    public ThreadPoolTaskExecutor importExecutor(@Value("${user-import.hash-threads:2}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(poolSize * 4);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("import-");
+        return executor;
+    }
+
+    /**
+     * Provides the executor that runs the admin dashboard count queries in parallel.
+     * Its pool size also caps the database connections a dashboard refresh holds at once.
+     *
+     * @param poolSize number of query threads
+     * @return ThreadPoolTaskExecutor instance
+     */
+    @Bean
+    public ThreadPoolTaskExecutor dashboardExecutor(@Value("${dashboard.query-threads:4}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(16);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("dashboard-");
+        return executor;
     }
 }
@@ -0,0 +1,85 @@
+package com.library.system.config;
+
+import com.library.system.model.Book;
+import com.library.system.model.User;
+import com.library.system.repository.BookRepository;
+import com.library.system.repository.UserRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds the embedded database of the {@code local} profile with an admin,
+ * readers and books, so the application and the load generator can run
+ * without MySQL.
+ *
+ * Readers are {@code reader<N>@library.local} with mobile {@code 9<N padded to 9 digits>},
+ * and all seeded accounts use the password {@code password}.
+ */
+@Component
+@Profile("local")
+public class LocalDataSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalDataSeeder.class);
+
+    private static final String[] CATEGORIES = {"Fiction", "Science", "History", "Technology", "Biography"};
+
+    private final UserRepository userRepository;
+    private final BookRepository bookRepository;
+    private final BCryptPasswordEncoder passwordEncoder;
+
+    @Value("${local.seed.users:200}")
+    private int users;
+
+    @Value("${local.seed.books:500}")
+    private int books;
+
+    public LocalDataSeeder(UserRepository userRepository, BookRepository bookRepository,
+                           BCryptPasswordEncoder passwordEncoder) {
+        this.userRepository = userRepository;
+        this.bookRepository = bookRepository;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (userRepository.count() > 0) {
+            return;
+        }
+        String passwordHash = passwordEncoder.encode("password");
+
+        List<User> seededUsers = new ArrayList<>(users + 1);
+        seededUsers.add(User.builder().name("Admin").email("admin@library.local")
+                .password(passwordHash).role("admin").mobile("9000000000").build());
+        for (int i = 1; i <= users; i++) {
+            seededUsers.add(User.builder().name("Reader " + i).email("reader" + i + "@library.local")
+                    .password(passwordHash).role("user").mobile(String.format("9%09d", i)).build());
+        }
+        userRepository.saveAll(seededUsers);
+
+        List<Book> seededBooks = new ArrayList<>(books);
+        for (int i = 1; i <= books; i++) {
+            seededBooks.add(Book.builder()
+                    .title("Book " + i)
+                    .author("Author " + (i % 100))
+                    .category(CATEGORIES[i % CATEGORIES.length])
+                    .totalCopies(10)
+                    .availableCopies(10)
+                    .available(true)
+                    .description("Seeded book " + i)
+                    .build());
+        }
+        bookRepository.saveAll(seededBooks);
+
+        log.info("Seeded {} users and {} books", seededUsers.size(), seededBooks.size());
+    }
+}
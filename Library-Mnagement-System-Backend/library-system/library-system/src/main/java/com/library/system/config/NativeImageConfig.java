@@ -0,0 +1,86 @@
+package com.library.system.config;
+
+import com.library.system.batch.BatchRunStats;
+import com.library.system.cache.SecondLevelCacheStats;
+import com.library.system.dashboard.DashboardSnapshot;
+import com.library.system.datasource.SqlTraceListener;
+import com.library.system.dto.BatchCheckpointResponse;
+import com.library.system.dto.BookResponse;
+import com.library.system.dto.BorrowedBookResponse;
+import com.library.system.dto.JwtAuthResponse;
+import com.library.system.dto.UserImportReport;
+import com.library.system.dto.UserResponse;
+import com.library.system.events.LibraryEventBus;
+import com.library.system.loadshed.AdaptiveConcurrencyLimiter;
+import com.library.system.model.BatchCheckpoint;
+import com.library.system.model.Book;
+import com.library.system.model.BorrowedBook;
+import com.library.system.model.JobLease;
+import com.library.system.model.OtpEntry;
+import com.library.system.model.OutboxMessage;
+import com.library.system.model.ReminderLog;
+import com.library.system.model.User;
+import com.library.system.security.PasswordHashingService;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reflection and resource hints for the GraalVM native image ({@code mvn -Pnative}).
+ *
+ * Spring AOT already covers beans, repositories and the JPA metamodel. This adds what it
+ * cannot infer: Jackson binding of the request entities, whose Lombok-generated accessors
+ * and constructors are only reached reflectively, and of the response records; and the
+ * jjwt implementation classes and service files, which jjwt loads by name at runtime.
+ * The Twilio SDK needs no hints because native builds use the logging SMS transport.
+ */
+@Configuration
+@ImportRuntimeHints(NativeImageConfig.JjwtHints.class)
+@RegisterReflectionForBinding({
+        Book.class, BorrowedBook.class, User.class, BatchCheckpoint.class, JobLease.class,
+        OtpEntry.class, OutboxMessage.class, ReminderLog.class,
+        BookResponse.class, BorrowedBookResponse.class, BorrowedBookResponse.BookSummary.class,
+        UserResponse.class, JwtAuthResponse.class, UserImportReport.class, UserImportReport.RowError.class,
+        BatchRunStats.class, BatchCheckpointResponse.class, PasswordHashingService.HashingStats.class,
+        SqlTraceListener.QueryStats.class, SecondLevelCacheStats.RegionStats.class,
+        AdaptiveConcurrencyLimiter.LimiterStats.class, DashboardSnapshot.class,
+        LibraryEventBus.ConsumerStats.class
+})
+public class NativeImageConfig {
+
+    /**
+     * jjwt classes instantiated reflectively through {@code io.jsonwebtoken.lang.Classes}.
+     */
+    private static final String[] JJWT_CLASSES = {
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    };
+
+    /**
+     * Registers the jjwt implementation classes and the service files naming them.
+     */
+    static class JjwtHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String className : JJWT_CLASSES) {
+                hints.reflection().registerTypeIfPresent(classLoader, className,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.Serializer");
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.Deserializer");
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.CompressionCodec");
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.library.system.config;
+
+import java.net.InetAddress;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Identifies this application instance when several instances share the database.
+ * Used to mark which node holds a claim on shared work.
+ */
+@Component
+public class NodeIdentity {
+
+    private final String nodeId;
+
+    /**
+     * Uses the configured node ID, or the host name plus a random suffix if none is set.
+     *
+     * @param configuredNodeId the value of {@code app.node-id}, may be empty
+     */
+    public NodeIdentity(@Value("${app.node-id:}") String configuredNodeId) {
+        this.nodeId = configuredNodeId.isBlank() ? defaultNodeId() : configuredNodeId;
+    }
+
+    /**
+     * Gets the ID of this application instance.
+     *
+     * @return the node ID
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception ex) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,64 @@
+package com.library.system.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.library.system.loadshed.ConcurrencyLimitInterceptor;
+import com.library.system.security.AdminAccessInterceptor;
+import com.library.system.security.AuthenticatedUserArgumentResolver;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Spring MVC configuration.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AdminAccessInterceptor adminAccessInterceptor;
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    public WebConfig(AdminAccessInterceptor adminAccessInterceptor,
+                     ConcurrencyLimitInterceptor concurrencyLimitInterceptor) {
+        this.adminAccessInterceptor = adminAccessInterceptor;
+        this.concurrencyLimitInterceptor = concurrencyLimitInterceptor;
+    }
+
+    /**
+     * Lets controllers declare an {@code AuthenticatedUser} parameter to receive the request principal.
+     */
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new AuthenticatedUserArgumentResolver());
+    }
+
+    /**
+     * Rejects non-admin requests to the admin endpoints, then sheds API requests beyond
+     * the adaptive concurrency limit before their controller runs. Rejected requests
+     * never take a concurrency permit.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(adminAccessInterceptor).addPathPatterns("/api/admin/**");
+        registry.addInterceptor(concurrencyLimitInterceptor).addPathPatterns("/api/**");
+    }
+
+    /**
+     * Registers Jackson's Blackbird module, which replaces reflective property access with
+     * generated lambdas for faster serialization of the response DTOs.
+     * Disabled in the native image, where such classes cannot be generated at runtime.
+     *
+     * @return the Blackbird module, picked up by the auto-configured ObjectMapper
+     */
+    @Bean
+    @ConditionalOnProperty(name = "json.blackbird.enabled", havingValue = "true", matchIfMissing = true)
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
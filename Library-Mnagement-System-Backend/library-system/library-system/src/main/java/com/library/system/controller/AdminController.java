@@ -0,0 +1,142 @@
+package com.library.system.controller;
+
+import com.library.system.batch.BatchJobRunner;
+import com.library.system.batch.BatchRunStats;
+import com.library.system.cache.SecondLevelCacheStats;
+import com.library.system.dashboard.DashboardService;
+import com.library.system.dashboard.DashboardSnapshot;
+import com.library.system.datasource.SqlTraceListener;
+import com.library.system.events.LibraryEventBus;
+import com.library.system.loadshed.AdaptiveConcurrencyLimiter;
+import com.library.system.loadshed.PriorityClass;
+import com.library.system.loadshed.RequestPriority;
+import com.library.system.dto.BatchCheckpointResponse;
+import com.library.system.security.PasswordHashingService;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for admin-only operational endpoints.
+ * Access is restricted to admins by {@link com.library.system.security.AdminAccessInterceptor}.
+ */
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "http://localhost:3000")
+@RequestPriority(PriorityClass.DASHBOARD)
+public class AdminController {
+
+    private final BatchJobRunner batchJobRunner;
+    private final PasswordHashingService passwordHashingService;
+    private final SqlTraceListener sqlTraceListener;
+    private final SecondLevelCacheStats secondLevelCacheStats;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final DashboardService dashboardService;
+    private final LibraryEventBus eventBus;
+
+    public AdminController(BatchJobRunner batchJobRunner,
+                           PasswordHashingService passwordHashingService,
+                           SqlTraceListener sqlTraceListener,
+                           SecondLevelCacheStats secondLevelCacheStats,
+                           AdaptiveConcurrencyLimiter concurrencyLimiter,
+                           DashboardService dashboardService,
+                           LibraryEventBus eventBus) {
+        this.batchJobRunner = batchJobRunner;
+        this.passwordHashingService = passwordHashingService;
+        this.sqlTraceListener = sqlTraceListener;
+        this.secondLevelCacheStats = secondLevelCacheStats;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.dashboardService = dashboardService;
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Returns all admin dashboard figures in one response: book, user and loan totals,
+     * overdue loans, outstanding fines, and today's checkouts and returns.
+     * Served from a snapshot at most {@code dashboard.max-staleness-ms} old.
+     *
+     * @return the dashboard snapshot
+     */
+    @GetMapping("/dashboard")
+    public ResponseEntity<DashboardSnapshot> getDashboard() {
+        return ResponseEntity.ok(dashboardService.getSnapshot());
+    }
+
+    /**
+     * Returns the duration and throughput of the latest run of each batch step on this node.
+     *
+     * @return latest batch run statistics
+     */
+    @GetMapping("/batch/runs")
+    public ResponseEntity<List<BatchRunStats>> getBatchRuns() {
+        return ResponseEntity.ok(batchJobRunner.getLastRuns());
+    }
+
+    /**
+     * Returns the checkpoints of the most recent batch runs across all nodes.
+     *
+     * @return recent batch checkpoints, newest first
+     */
+    @GetMapping("/batch/checkpoints")
+    public ResponseEntity<List<BatchCheckpointResponse>> getBatchCheckpoints() {
+        return ResponseEntity.ok(batchJobRunner.getRecentCheckpoints());
+    }
+
+    /**
+     * Returns password hashing pool statistics: completed and shed operations,
+     * current queue depth, and average hash time and queue wait.
+     *
+     * @return hashing statistics
+     */
+    @GetMapping("/password-hashing")
+    public ResponseEntity<PasswordHashingService.HashingStats> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordHashingService.getStats());
+    }
+
+    /**
+     * Returns the statement fingerprints with the slowest executions seen on this node,
+     * with their execution count, average and maximum time, and calling method.
+     *
+     * @param limit the maximum number of fingerprints to return
+     * @return the slowest statement fingerprints, slowest first
+     */
+    @GetMapping("/sql/slowest")
+    public ResponseEntity<List<SqlTraceListener.QueryStats>> getSlowestQueries(
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(sqlTraceListener.getSlowest(Math.max(1, Math.min(limit, 200))));
+    }
+
+    /**
+     * Returns hit, miss and size statistics of each second-level and query cache region.
+     *
+     * @return cache region statistics
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<List<SecondLevelCacheStats.RegionStats>> getCacheStats() {
+        return ResponseEntity.ok(secondLevelCacheStats.getRegionStats());
+    }
+
+    /**
+     * Returns the current adaptive concurrency limit, requests in flight, recent and
+     * long-term latency, and the requests shed per priority class.
+     *
+     * @return concurrency limiter statistics
+     */
+    @GetMapping("/concurrency")
+    public ResponseEntity<AdaptiveConcurrencyLimiter.LimiterStats> getConcurrencyStats() {
+        return ResponseEntity.ok(concurrencyLimiter.getStats());
+    }
+
+    /**
+     * Returns the progress of each event bus consumer: last handled sequence, lag,
+     * events and batches handled, handler errors, and events dropped by the bus.
+     *
+     * @return event consumer statistics
+     */
+    @GetMapping("/events")
+    public ResponseEntity<List<LibraryEventBus.ConsumerStats>> getEventStats() {
+        return ResponseEntity.ok(eventBus.getStats());
+    }
+}
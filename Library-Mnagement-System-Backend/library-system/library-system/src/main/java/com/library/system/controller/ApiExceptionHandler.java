@@ -0,0 +1,45 @@
+package com.library.system.controller;
+
+import com.library.system.exception.ServiceOverloadedException;
+import com.library.system.exception.TooManyRequestsException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+/**
+ * Maps exceptions that are not handled inside the controllers to HTTP responses.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /**
+     * Returns 503 with a Retry-After header when a request is shed.
+     *
+     * @param ex the overload exception
+     * @return error response
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Map<String, String>> handleOverloaded(ServiceOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    /**
+     * Returns 429 with a Retry-After header when a client exceeds a limit.
+     *
+     * @param ex the limit exception
+     * @return error response
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Map<String, String>> handleTooManyRequests(TooManyRequestsException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(Map.of("error", ex.getMessage()));
+    }
+}
@@ -1,5 +1,8 @@
 package com.library.system.controller;
 
+import com.library.system.dto.BookResponse;
+import com.library.system.loadshed.PriorityClass;
+import com.library.system.loadshed.RequestPriority;
 import com.library.system.model.Book;
 import com.library.system.service.BookService;
 
@@ -18,6 +21,7 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/books")
 @CrossOrigin(origins = "http://localhost:3000")
+@RequestPriority(PriorityClass.BROWSE)
 public class BookController {
 
     @Autowired
@@ -32,7 +36,7 @@ public class BookController {
      */
     @PreAuthorize("hasAuthority('admin')")
     @PostMapping
-    public Book addBook(@RequestBody Book book) {
+    public BookResponse addBook(@RequestBody Book book) {
         return bookService.addBook(book);
     }
 
@@ -42,7 +46,7 @@ public class BookController {
      * @return list of all books
      */
     @GetMapping("/all")
-    public List<Book> getAllBooks() {
+    public List<BookResponse> getAllBooks() {
         return bookService.getAllBooks();
     }
 
@@ -52,7 +56,7 @@ public class BookController {
      * @return list of available books
      */
     @GetMapping("/available")
-    public List<Book> getAvailableBooks() {
+    public List<BookResponse> getAvailableBooks() {
         return bookService.getAvailableBooks();
     }
 
@@ -63,7 +67,7 @@ public class BookController {
      * @return list of available books in the specified category
      */
     @GetMapping("/category/{category}")
-    public List<Book> getAvailableBooksByCategory(@PathVariable String category) {
+    public List<BookResponse> getAvailableBooksByCategory(@PathVariable String category) {
         return bookService.getAvailableBooksByCategory(category);
     }
 
@@ -86,6 +90,7 @@ public class BookController {
      * @return total number of books
      */
     @PreAuthorize("hasAnyAuthority('admin', 'user')")
+    @RequestPriority(PriorityClass.DASHBOARD)
     @GetMapping("/count")
     public long getBookCount() {
         return bookService.getBookCount();
@@ -98,6 +103,7 @@ public class BookController {
      * @return count of available books
      */
     @PreAuthorize("hasAnyAuthority('admin', 'user')")
+    @RequestPriority(PriorityClass.DASHBOARD)
     @GetMapping("/count/available")
     public long getAvailableBookCount() {
         return bookService.getAvailableBookCount();
@@ -110,8 +116,8 @@ public class BookController {
      * @return the book if found, or 404 Not Found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Book> getBookById(@PathVariable Long id) {
-        Book book = bookService.getBookById(id).orElse(null);
+    public ResponseEntity<BookResponse> getBookById(@PathVariable Long id) {
+        BookResponse book = bookService.getBookById(id).orElse(null);
         if (book != null) {
             return ResponseEntity.ok(book);
         } else {
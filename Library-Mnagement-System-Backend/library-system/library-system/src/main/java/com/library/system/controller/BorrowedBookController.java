@@ -1,5 +1,8 @@
 package com.library.system.controller;
 
+import com.library.system.dto.BorrowedBookResponse;
+import com.library.system.loadshed.PriorityClass;
+import com.library.system.loadshed.RequestPriority;
 import com.library.system.model.BorrowedBook;
 import com.library.system.service.BorrowedBookService;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +20,7 @@ import java.util.*;
 @RequestMapping("/api/borrow")
 @RequiredArgsConstructor
 @CrossOrigin(origins = "http://localhost:3000")
+@RequestPriority(PriorityClass.CRITICAL)
 public class BorrowedBookController {
 
     private final BorrowedBookService borrowedBookService;
@@ -35,7 +39,7 @@ public class BorrowedBookController {
             @PathVariable Long bookId,
             @RequestBody BorrowedBook bookData) {
         try {
-            BorrowedBook borrowed = borrowedBookService.borrowBook(userId, bookId, bookData);
+            BorrowedBookResponse borrowed = borrowedBookService.borrowBook(userId, bookId, bookData);
             return ResponseEntity.ok(borrowed);
         } catch (RuntimeException ex) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", ex.getMessage()));
@@ -49,8 +53,8 @@ public class BorrowedBookController {
      * @return list of borrowed books by the user
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<BorrowedBook>> getUserBorrowedBooks(@PathVariable Long userId) {
-        List<BorrowedBook> books = borrowedBookService.getBorrowedBooksByUser(userId);
+    public ResponseEntity<List<BorrowedBookResponse>> getUserBorrowedBooks(@PathVariable Long userId) {
+        List<BorrowedBookResponse> books = borrowedBookService.getBorrowRecordsByUser(userId);
         return ResponseEntity.ok(books);
     }
 
@@ -90,6 +94,7 @@ public class BorrowedBookController {
      * @return count of borrowed books
      */
     @PreAuthorize("hasAnyAuthority('admin', 'user')")
+    @RequestPriority(PriorityClass.DASHBOARD)
     @GetMapping("/count/borrowed")
     public ResponseEntity<Long> getBorrowedBookCount() {
         return ResponseEntity.ok(borrowedBookService.getBorrowedBookCount());
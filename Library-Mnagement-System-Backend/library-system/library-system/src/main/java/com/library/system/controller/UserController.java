@@ -1,16 +1,27 @@
 package com.library.system.controller;
 
 import com.library.system.dto.JwtAuthResponse;
+import com.library.system.dto.UserResponse;
+import com.library.system.dto.UserImportReport;
+import com.library.system.exception.TooManyRequestsException;
 import com.library.system.model.User;
+import com.library.system.security.AuthenticatedUser;
 import com.library.system.service.SmsService;
+import com.library.system.service.UserImportService;
 import com.library.system.service.UserService;
 import com.library.system.util.JwtUtil;
 
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Controller for handling user-related operations like registration, login, password reset,
@@ -24,57 +35,91 @@ public class UserController {
     private final UserService userService;
     private final SmsService smsService;
     private final JwtUtil jwtUtil;
+    private final UserImportService userImportService;
 
-    public UserController(UserService userService, SmsService smsService, JwtUtil jwtUtil) {
+    public UserController(UserService userService, @Lazy SmsService smsService, JwtUtil jwtUtil,
+                          UserImportService userImportService) {
         this.userService = userService;
         this.smsService = smsService;
         this.jwtUtil = jwtUtil;
+        this.userImportService = userImportService;
     }
 
     /**
      * Registers a new user account.
+     * The password is hashed on the hashing pool, so the request thread is released meanwhile.
      *
      * @param user the user details
-     * @return the registered user
+     * @return the registered user, or 409 if the email or mobile number is already registered;
+     *         503 if the hashing pool is saturated
      */
     @PostMapping("/register")
-    public ResponseEntity<User> register(@RequestBody User user) {
-        User registeredUser = userService.register(user);
-        return new ResponseEntity<>(registeredUser, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody User user) {
+        return userService.registerAsync(user)
+                .<ResponseEntity<?>>thenApply(registeredUser -> new ResponseEntity<>(registeredUser, HttpStatus.CREATED))
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+                    if (cause instanceof DataIntegrityViolationException) {
+                        return ResponseEntity.status(HttpStatus.CONFLICT).body("Email or mobile number already registered");
+                    }
+                    throw ex instanceof CompletionException completionException
+                            ? completionException : new CompletionException(cause);
+                });
+    }
+
+    /**
+     * Imports users in bulk from a CSV file (admin only).
+     * Columns: name,email,mobile,password[,role], with a header row.
+     *
+     * @param file the CSV file
+     * @param principal the principal resolved from the token, or null if invalid
+     * @return the import report with per-row errors and throughput
+     * @throws IOException if the file cannot be read
+     */
+    @PostMapping("/import")
+    public ResponseEntity<?> importUsers(@RequestParam("file") MultipartFile file, AuthenticatedUser principal)
+            throws IOException {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token");
+        }
+        if (!principal.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Admin access required");
+        }
+        UserImportReport report = userImportService.importCsv(file.getInputStream());
+        return ResponseEntity.ok(report);
     }
 
     /**
      * Authenticates a user and returns a JWT token.
+     * The password check runs on the hashing pool, so the request thread is released meanwhile.
      *
      * @param loginRequest the user login request
-     * @return JWT and user details if successful, else error
+     * @return JWT and user details if successful, else error; 503 if logins are being shed
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody User loginRequest) {
-        User user = userService.login(loginRequest.getEmail(), loginRequest.getPassword());
-        if (user == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
-        }
-
-        String token = jwtUtil.generateToken(user.getEmail());
-        JwtAuthResponse response = new JwtAuthResponse(token, user.getEmail(), user.getRole(), user.getId());
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody User loginRequest) {
+        return userService.loginAsync(loginRequest.getEmail(), loginRequest.getPassword())
+                .thenApply(user -> toLoginResponse(user, "Invalid credentials"));
     }
 
     /**
      * Authenticates an admin user with role validation.
      *
      * @param loginRequest the admin login request
-     * @return JWT and admin details if successful
+     * @return JWT and admin details if successful; 503 if logins are being shed
      */
     @PostMapping("/admin/login")
-    public ResponseEntity<?> loginAdmin(@RequestBody User loginRequest) {
-        User user = userService.loginWithRole(loginRequest.getEmail(), loginRequest.getPassword(), "admin");
+    public CompletableFuture<ResponseEntity<?>> loginAdmin(@RequestBody User loginRequest) {
+        return userService.loginWithRoleAsync(loginRequest.getEmail(), loginRequest.getPassword(), "admin")
+                .thenApply(user -> toLoginResponse(user, "Invalid admin credentials"));
+    }
+
+    private ResponseEntity<?> toLoginResponse(User user, String failureMessage) {
         if (user == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid admin credentials");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(failureMessage);
         }
 
-        String token = jwtUtil.generateToken(user.getEmail());
+        String token = jwtUtil.generateToken(user.getEmail(), user.getId(), user.getRole());
         JwtAuthResponse response = new JwtAuthResponse(token, user.getEmail(), user.getRole(), user.getId());
         return ResponseEntity.ok(response);
     }
@@ -83,13 +128,15 @@ public class UserController {
      * Sends OTP to the user's mobile number.
      *
      * @param mobile the user's mobile number
-     * @return success or error message
+     * @return success or error message; 429 if the mobile number reached its send limit
      */
     @PostMapping("/send-otp")
     public ResponseEntity<String> sendOtp(@RequestParam String mobile) {
         try {
             userService.sendOtp(mobile);
             return ResponseEntity.ok("OTP sent successfully");
+        } catch (TooManyRequestsException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
@@ -117,10 +164,7 @@ public class UserController {
      */
     @PostMapping("/reset-password")
     public ResponseEntity<String> resetPassword(@RequestParam String mobile, @RequestParam String newPassword) {
-        Optional<User> userOpt = userService.findByMobile(mobile);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            userService.updatePassword(user.getEmail(), newPassword);
+        if (userService.resetPassword(mobile, newPassword)) {
             return ResponseEntity.ok("Password reset successfully");
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Mobile number not found");
@@ -134,8 +178,8 @@ public class UserController {
      * @return user details or 404
      */
     @GetMapping("/by-mobile")
-    public ResponseEntity<User> getUserByMobile(@RequestParam String mobile) {
-        Optional<User> userOpt = userService.findByMobile(mobile);
+    public ResponseEntity<UserResponse> getUserByMobile(@RequestParam String mobile) {
+        Optional<UserResponse> userOpt = userService.getProfileByMobile(mobile);
         if (userOpt.isPresent()) {
             return ResponseEntity.ok(userOpt.get());
         } else {
@@ -144,19 +188,15 @@ public class UserController {
     }
 
     /**
-     * Validates the provided JWT token.
+     * Validates the JWT token sent in the Authorization header.
      *
-     * @param authHeader the Authorization header with Bearer token
+     * @param principal the principal resolved from the token, or null if invalid
      * @return success if valid, else error
      */
     @GetMapping("/validate-token")
-    public ResponseEntity<String> validateToken(@RequestHeader("Authorization") String authHeader) {
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            boolean isValid = jwtUtil.validateToken(token);
-            if (isValid) {
-                return ResponseEntity.ok("Token is valid");
-            }
+    public ResponseEntity<String> validateToken(AuthenticatedUser principal) {
+        if (principal != null) {
+            return ResponseEntity.ok("Token is valid");
         }
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token");
     }
@@ -164,24 +204,19 @@ public class UserController {
     /**
      * Retrieves the user's profile using a valid JWT token.
      *
-     * @param authHeader the Authorization header
+     * @param principal the principal resolved from the token, or null if invalid
      * @return user profile or error
      */
     @GetMapping("/profile")
-    public ResponseEntity<?> getUserProfile(@RequestHeader("Authorization") String authHeader) {
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            boolean isValid = jwtUtil.validateToken(token);
-            if (isValid) {
-                String email = jwtUtil.getEmailFromToken(token);
-                Optional<User> userOpt = userService.findByEmail(email);
-                if (userOpt.isPresent()) {
-                    return ResponseEntity.ok(userOpt.get());
-                }
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
-            }
+    public ResponseEntity<?> getUserProfile(AuthenticatedUser principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token");
         }
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token");
+        Optional<UserResponse> userOpt = userService.getProfile(principal.email());
+        if (userOpt.isPresent()) {
+            return ResponseEntity.ok(userOpt.get());
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
     }
 
     /**
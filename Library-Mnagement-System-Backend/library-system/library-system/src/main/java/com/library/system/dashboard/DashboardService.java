@@ -0,0 +1,200 @@
+package com.library.system.dashboard;
+
+import com.library.system.events.LibraryEvent;
+import com.library.system.events.LibraryEventHandler;
+import com.library.system.repository.BookRepository;
+import com.library.system.repository.BorrowedBookRepository;
+import com.library.system.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serves the admin dashboard figures from an in-memory snapshot.
+ *
+ * A full refresh runs the count queries in parallel on the {@code dashboardExecutor},
+ * each in its own read-only transaction. They always read the primary: executor threads
+ * carry no request, and the replica routing only sends reads made for a request to replicas.
+ * Between refreshes, book and loan events from this node's event bus are summed per
+ * batch and applied to the snapshot as one delta, so the figures usually reflect
+ * committed changes within milliseconds.
+ *
+ * Staleness is bounded: the snapshot is recomputed every {@code dashboard.refresh-interval-ms},
+ * and a read finding it older than {@code dashboard.max-staleness-ms} (or from a previous
+ * day) recomputes it before answering. That covers changes made on other nodes, new users
+ * and any delta that raced with a refresh.
+ */
+@Slf4j
+@Service
+public class DashboardService implements LibraryEventHandler {
+
+    private final BookRepository bookRepository;
+    private final BorrowedBookRepository borrowedBookRepository;
+    private final UserRepository userRepository;
+    private final ThreadPoolTaskExecutor dashboardExecutor;
+    private final long maxStalenessMs;
+
+    private final AtomicReference<DashboardSnapshot> snapshot = new AtomicReference<>();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    // Deltas of the event batch being handled; only touched by the event consumer thread
+    private long books;
+    private long available;
+    private long loans;
+    private long overdue;
+    private long fines;
+    private long checkouts;
+    private long returns;
+
+    public DashboardService(BookRepository bookRepository,
+                            BorrowedBookRepository borrowedBookRepository,
+                            UserRepository userRepository,
+                            @Qualifier("dashboardExecutor") ThreadPoolTaskExecutor dashboardExecutor,
+                            @Value("${dashboard.max-staleness-ms:10000}") long maxStalenessMs) {
+        this.bookRepository = bookRepository;
+        this.borrowedBookRepository = borrowedBookRepository;
+        this.userRepository = userRepository;
+        this.dashboardExecutor = dashboardExecutor;
+        this.maxStalenessMs = maxStalenessMs;
+    }
+
+    /**
+     * Gets the dashboard figures, recomputing them first if the snapshot is too old.
+     *
+     * @return the current snapshot
+     */
+    public DashboardSnapshot getSnapshot() {
+        DashboardSnapshot current = snapshot.get();
+        if (isFresh(current)) {
+            return current;
+        }
+        refreshLock.lock();
+        try {
+            // Another request may have refreshed it while this one waited
+            current = snapshot.get();
+            return isFresh(current) ? current : refresh();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Recomputes the snapshot at a fixed interval, so reads rarely have to.
+     */
+    @Scheduled(initialDelayString = "${scheduling.startup-delay-ms:0}",
+            fixedDelayString = "${dashboard.refresh-interval-ms:5000}")
+    public void scheduledRefresh() {
+        if (!refreshLock.tryLock()) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (RuntimeException ex) {
+            log.warn("Dashboard refresh failed; keeping the previous snapshot", ex);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @Override
+    public String getEventHandlerName() {
+        return "dashboard";
+    }
+
+    /**
+     * Adds an event to the batch deltas and applies them to the snapshot at the end of the batch.
+     */
+    @Override
+    public void onEvent(LibraryEvent event, long sequence, boolean endOfBatch) {
+        LocalDate today = today();
+        int availableDelta = event.isAvailabilityChanged() ? (event.isBookAvailable() ? 1 : -1) : 0;
+        switch (event.getType()) {
+            case BOOK_ADDED -> {
+                books++;
+                available += availableDelta;
+            }
+            case BOOK_DELETED -> {
+                books--;
+                available -= availableDelta;
+            }
+            case BOOK_BORROWED -> {
+                available += availableDelta;
+                loans++;
+                if (today.equals(event.getBorrowDate())) {
+                    checkouts++;
+                }
+            }
+            case BOOK_RETURNED -> {
+                available += availableDelta;
+                if (event.isLoanClosed()) {
+                    loans--;
+                    returns++;
+                    fines -= event.getFine();
+                    if (event.getDueDate() != null && event.getDueDate().isBefore(today)) {
+                        overdue--;
+                    }
+                }
+            }
+        }
+        if (endOfBatch) {
+            snapshot.updateAndGet(current -> current == null
+                    ? null
+                    : current.plus(books, available, loans, overdue, fines, checkouts, returns));
+            books = available = loans = overdue = fines = checkouts = returns = 0;
+        }
+    }
+
+    private boolean isFresh(DashboardSnapshot current) {
+        return current != null
+                && current.day().equals(today())
+                && System.currentTimeMillis() - current.refreshedAt().toEpochMilli() <= maxStalenessMs;
+    }
+
+    /**
+     * Runs every count query in parallel and replaces the snapshot. Callers hold the refresh lock.
+     */
+    private DashboardSnapshot refresh() {
+        LocalDate today = today();
+        Instant startedAt = Instant.now();
+        CompletableFuture<Long> totalBooks = query(bookRepository::count);
+        CompletableFuture<Long> availableBooks = query(bookRepository::countByAvailableTrue);
+        CompletableFuture<Long> totalUsers = query(userRepository::count);
+        CompletableFuture<Long> activeLoans = query(borrowedBookRepository::countByReturnedFalse);
+        CompletableFuture<Long> overdueLoans =
+                query(() -> borrowedBookRepository.countByReturnedFalseAndReturnDateBefore(today));
+        CompletableFuture<Long> finesOutstanding = query(borrowedBookRepository::sumOutstandingFines);
+        CompletableFuture<Long> checkoutsToday = query(() -> borrowedBookRepository.countByBorrowDate(today));
+        CompletableFuture<Long> returnsToday = query(() -> borrowedBookRepository.countByReturnedOn(today));
+        try {
+            DashboardSnapshot refreshed = new DashboardSnapshot(totalBooks.join(), availableBooks.join(),
+                    totalUsers.join(), activeLoans.join(), overdueLoans.join(), finesOutstanding.join(),
+                    checkoutsToday.join(), returnsToday.join(), today, startedAt);
+            snapshot.set(refreshed);
+            log.debug("Dashboard refreshed in {} ms", System.currentTimeMillis() - startedAt.toEpochMilli());
+            return refreshed;
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    private CompletableFuture<Long> query(Supplier<Long> count) {
+        return CompletableFuture.supplyAsync(count, dashboardExecutor);
+    }
+
+    private LocalDate today() {
+        return LocalDate.now();
+    }
+}
@@ -0,0 +1,35 @@
+package com.library.system.dashboard;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Figures shown on the admin dashboard.
+ *
+ * @param totalBooks number of books in the catalog
+ * @param availableBooks number of books with at least one copy available
+ * @param totalUsers number of registered users
+ * @param activeLoans number of borrowed books not yet returned
+ * @param overdueLoans number of unreturned books past their return date
+ * @param finesOutstanding fines accrued on unreturned, unpaid loans as of the last nightly accrual
+ * @param checkoutsToday number of loans with today as their borrow date
+ * @param returnsToday number of books returned today
+ * @param day the date the daily figures refer to
+ * @param refreshedAt when all figures were last recomputed from the database
+ */
+public record DashboardSnapshot(long totalBooks, long availableBooks, long totalUsers, long activeLoans,
+                                long overdueLoans, long finesOutstanding, long checkoutsToday, long returnsToday,
+                                LocalDate day, Instant refreshedAt) {
+
+    /**
+     * Applies changes committed since the last recompute.
+     *
+     * @return a snapshot with the deltas added
+     */
+    DashboardSnapshot plus(long books, long available, long loans, long overdue, long fines,
+                           long checkouts, long returns) {
+        return new DashboardSnapshot(totalBooks + books, availableBooks + available, totalUsers,
+                activeLoans + loans, overdueLoans + overdue, Math.max(0, finesOutstanding + fines),
+                checkoutsToday + checkouts, returnsToday + returns, day, refreshedAt);
+    }
+}
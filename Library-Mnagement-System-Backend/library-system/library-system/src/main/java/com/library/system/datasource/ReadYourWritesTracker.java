@@ -0,0 +1,92 @@
+package com.library.system.datasource;
+
+import com.library.system.security.AuthenticatedUser;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a client's reads on the primary for a short time after it wrote.
+ *
+ * Clients are identified by the authenticated user ID, or by IP address for
+ * anonymous requests. Within the writing request itself reads stay on the
+ * primary regardless. Work outside a request (scheduled jobs) is not tracked.
+ */
+public class ReadYourWritesTracker {
+
+    private static final String REQUEST_ATTRIBUTE = ReadYourWritesTracker.class.getName() + ".wrote";
+
+    private final long stickyNanos;
+    private final int maxClients;
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    /**
+     * @param stickySeconds how long reads stay on the primary after a write
+     * @param maxClients maximum number of clients tracked at once
+     */
+    public ReadYourWritesTracker(long stickySeconds, int maxClients) {
+        this.stickyNanos = TimeUnit.SECONDS.toNanos(stickySeconds);
+        this.maxClients = maxClients;
+    }
+
+    /**
+     * Records that the current client committed a write.
+     */
+    public void recordWrite() {
+        HttpServletRequest request = currentRequest();
+        if (request == null) {
+            return;
+        }
+        request.setAttribute(REQUEST_ATTRIBUTE, Boolean.TRUE);
+        if (stickyUntil.size() >= maxClients) {
+            evictExpired();
+        }
+        if (stickyUntil.size() < maxClients) {
+            stickyUntil.put(clientKey(request), System.nanoTime() + stickyNanos);
+        }
+    }
+
+    /**
+     * Checks whether the current client's reads must go to the primary.
+     *
+     * @return true if the client wrote recently
+     */
+    public boolean isPinnedToPrimary() {
+        HttpServletRequest request = currentRequest();
+        if (request == null) {
+            return false;
+        }
+        if (request.getAttribute(REQUEST_ATTRIBUTE) != null) {
+            return true;
+        }
+        Long until = stickyUntil.get(clientKey(request));
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    /**
+     * Removes clients whose stickiness has expired.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.check-interval-ms:5000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        AuthenticatedUser principal = AuthenticatedUser.from(request);
+        return principal != null ? "user:" + principal.id() : "ip:" + request.getRemoteAddr();
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes.getRequest() : null;
+    }
+}
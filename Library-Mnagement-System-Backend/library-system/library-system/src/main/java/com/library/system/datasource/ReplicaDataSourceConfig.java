@@ -0,0 +1,148 @@
+package com.library.system.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the single data source with a primary plus read replicas when
+ * {@code app.datasource.replicas.enabled=true}.
+ *
+ * The primary is configured by the usual {@code spring.datasource.*} properties and
+ * each replica gets its own pool. Transactions marked read-only are served by a
+ * replica; everything else, and reads of clients that just wrote, use the primary.
+ * Hibernate releases its connection after each transaction, so a session kept
+ * open for the view never reuses a replica connection for a later write.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaDataSourceConfig {
+
+    /**
+     * Provides one pool per configured replica, keyed {@code replica-0}, {@code replica-1}, ...
+     *
+     * @param dataSourceProperties the primary's settings, used as defaults for credentials and driver
+     * @param replicaProperties the replica settings
+     * @param meterRegistry the registry the pools report to
+     * @return the replica pools by routing key
+     */
+    @Bean
+    public ReplicaPools replicaPools(DataSourceProperties dataSourceProperties,
+                                     ReplicaProperties replicaProperties,
+                                     MeterRegistry meterRegistry) {
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        List<String> urls = replicaProperties.getUrls();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i))
+                    .username(replicaProperties.getUsername() != null
+                            ? replicaProperties.getUsername() : dataSourceProperties.determineUsername())
+                    .password(replicaProperties.getPassword() != null
+                            ? replicaProperties.getPassword() : dataSourceProperties.determinePassword())
+                    .build();
+            pool.setPoolName("replica-" + i);
+            pool.setMaximumPoolSize(replicaProperties.getMaxPoolSize());
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.put("replica-" + i, pool);
+        }
+        return new ReplicaPools(pools);
+    }
+
+    /**
+     * Provides the monitor that takes lagging or unreachable replicas out of rotation.
+     *
+     * @param replicaPools the replica pools
+     * @param replicaProperties the replica settings
+     * @return ReplicaLagMonitor instance
+     */
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaPools replicaPools, ReplicaProperties replicaProperties) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaPools.pools(), replicaProperties);
+        monitor.check();
+        return monitor;
+    }
+
+    /**
+     * Provides the tracker that keeps recent writers on the primary.
+     *
+     * @param replicaProperties the replica settings
+     * @return ReadYourWritesTracker instance
+     */
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties replicaProperties) {
+        return new ReadYourWritesTracker(replicaProperties.getStickySeconds(), replicaProperties.getMaxStickyClients());
+    }
+
+    /**
+     * Provides the application data source: a lazily connecting proxy over the
+     * routing data source, so the route is chosen once the transaction's read-only
+     * flag is known.
+     *
+     * @param dataSourceProperties the primary's settings
+     * @param replicaPools the replica pools
+     * @param replicaLagMonitor the replica health monitor
+     * @param readYourWritesTracker the read-your-writes tracker
+     * @param meterRegistry the registry the primary pool reports to
+     * @return the routing data source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties dataSourceProperties,
+                                 ReplicaPools replicaPools,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primary, replicaPools.pools(), replicaLagMonitor, readYourWritesTracker);
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * Makes Hibernate acquire a connection per transaction instead of per session.
+     * With open-in-view the session outlives the transaction that first read, and
+     * would otherwise keep the connection routed for that read for the rest of the request.
+     *
+     * @return HibernatePropertiesCustomizer instance
+     */
+    @Bean
+    public HibernatePropertiesCustomizer connectionPerTransactionCustomizer() {
+        return properties -> properties.put("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    /**
+     * The replica pools by routing key; closed with the context.
+     *
+     * @param pools the pools
+     */
+    public record ReplicaPools(Map<String, DataSource> pools) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            pools.values().forEach(pool -> ((HikariDataSource) pool).close());
+        }
+    }
+}
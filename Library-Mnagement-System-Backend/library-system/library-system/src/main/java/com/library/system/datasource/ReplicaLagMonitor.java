@@ -0,0 +1,86 @@
+package com.library.system.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Periodically checks each replica's lag and reachability.
+ * Only replicas that answer and lag at most {@code max-lag-seconds} receive reads.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final Map<String, DataSource> replicas;
+    private final ReplicaProperties properties;
+    private final Set<String> healthy = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param replicas the replica data sources by routing key
+     * @param properties the replica settings
+     */
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, ReplicaProperties properties) {
+        this.replicas = replicas;
+        this.properties = properties;
+    }
+
+    /**
+     * Checks whether a replica may currently receive reads.
+     *
+     * @param key the replica's routing key
+     * @return true if the replica answered the last check within the allowed lag
+     */
+    public boolean isHealthy(String key) {
+        return healthy.contains(key);
+    }
+
+    /**
+     * Re-checks every replica.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.check-interval-ms:5000}")
+    public void check() {
+        replicas.forEach((key, dataSource) -> {
+            Long lag = readLagSeconds(key, dataSource);
+            boolean ok = lag != null && lag <= properties.getMaxLagSeconds();
+            boolean changed = ok ? healthy.add(key) : healthy.remove(key);
+            if (changed) {
+                log.info("Replica {} is now {} (lag {} s)", key, ok ? "in rotation" : "out of rotation", lag);
+            }
+        });
+    }
+
+    /**
+     * Reads the replica lag in seconds, or null if the replica is unreachable or not replicating.
+     */
+    private Long readLagSeconds(String key, DataSource dataSource) {
+        String lagQuery = properties.getLagQuery();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            if (!StringUtils.hasText(lagQuery)) {
+                statement.execute("SELECT 1");
+                return 0L;
+            }
+            try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                if (!rs.next()) {
+                    return null;
+                }
+                long lag = rs.getLong(properties.getLagColumn());
+                return rs.wasNull() ? null : lag;
+            }
+        } catch (SQLException ex) {
+            log.debug("Lag check of replica {} failed: {}", key, ex.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.library.system.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica settings bound from {@code app.datasource.replicas.*} properties.
+ */
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+@Data
+public class ReplicaProperties {
+
+    /**
+     * Whether read-only transactions are routed to replicas.
+     */
+    private boolean enabled;
+
+    /**
+     * JDBC URLs of the replicas.
+     */
+    private List<String> urls = new ArrayList<>();
+
+    /**
+     * Replica username; defaults to the primary's.
+     */
+    private String username;
+
+    /**
+     * Replica password; defaults to the primary's.
+     */
+    private String password;
+
+    /**
+     * Maximum connections per replica pool.
+     */
+    private int maxPoolSize = 10;
+
+    /**
+     * Replicas lagging more than this are not used until they catch up.
+     */
+    private long maxLagSeconds = 5;
+
+    /**
+     * Query returning the replica lag; empty to only check that the replica answers.
+     */
+    private String lagQuery = "SHOW REPLICA STATUS";
+
+    /**
+     * Column of the lag query holding the lag in seconds.
+     */
+    private String lagColumn = "Seconds_Behind_Source";
+
+    /**
+     * How long a client's reads stay on the primary after it wrote, so it reads its own writes.
+     */
+    private long stickySeconds = 5;
+
+    /**
+     * Maximum number of clients tracked for read-your-writes stickiness.
+     */
+    private int maxStickyClients = 100_000;
+}
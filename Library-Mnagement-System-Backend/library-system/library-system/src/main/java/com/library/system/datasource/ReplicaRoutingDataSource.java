@@ -0,0 +1,100 @@
+package com.library.system.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes connections of read-only transactions served for an HTTP request to
+ * healthy replicas, round robin, and everything else to the primary.
+ *
+ * Work outside a request (startup seeding, scheduled jobs, filter rebuilds)
+ * always reads the primary, so it never depends on replica contents. Reads also
+ * go to the primary when no replica is healthy or when the client wrote recently
+ * (see {@link ReadYourWritesTracker}). The routing decision is made
+ * when a connection is first used, so this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; the
+ * transaction's read-only flag is only known after it has begun.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Routing key of the primary.
+     */
+    public static final String PRIMARY = "primary";
+
+    private static final Object WRITE_TRACKED = new Object();
+
+    private final List<String> replicaKeys;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param primary the primary data source
+     * @param replicas the replica data sources by routing key
+     * @param lagMonitor tells which replicas may receive reads
+     * @param readYourWritesTracker tells which clients must read from the primary
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    ReplicaLagMonitor lagMonitor, ReadYourWritesTracker readYourWritesTracker) {
+        this.replicaKeys = new ArrayList<>(replicas.keySet());
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+            return PRIMARY;
+        }
+        if (RequestContextHolder.getRequestAttributes() == null || readYourWritesTracker.isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+        int size = replicaKeys.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, size));
+        for (int i = 0; i < size; i++) {
+            String key = replicaKeys.get((start + i) % size);
+            if (lagMonitor.isHealthy(key)) {
+                return key;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Records the write for read-your-writes once the transaction commits.
+     */
+    private void trackWrite() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_TRACKED)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(WRITE_TRACKED, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWritesTracker.recordWrite();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_TRACKED);
+            }
+        });
+    }
+}
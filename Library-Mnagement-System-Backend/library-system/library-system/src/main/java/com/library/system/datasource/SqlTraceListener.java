@@ -0,0 +1,221 @@
+package com.library.system.datasource;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Times every JDBC statement and keeps per-fingerprint statistics.
+ *
+ * Statements slower than {@code sql.trace.slow-threshold-ms} are logged with the
+ * application method that issued them and redacted bind values; a configurable
+ * sample of the others is logged too. Fingerprints (the SQL with literals replaced)
+ * aggregate executions of the same statement for the admin top-N view.
+ */
+@Component
+public class SqlTraceListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlTraceListener.class);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final String APP_PACKAGE = "com.library.system.";
+    private static final String OWN_PACKAGE = SqlTraceListener.class.getPackageName() + ".";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final SqlTraceProperties properties;
+    private final Map<String, FingerprintStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * @param properties the tracing settings
+     */
+    public SqlTraceListener(SqlTraceProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMs = execInfo.getElapsedTime();
+        boolean slow = elapsedMs >= properties.getSlowThresholdMs();
+        boolean sampled = !slow && properties.getSampleRate() > 0
+                && ThreadLocalRandom.current().nextDouble() < properties.getSampleRate();
+
+        String caller = null;
+        for (QueryInfo query : queryInfoList) {
+            String fingerprint = fingerprint(query.getQuery());
+            FingerprintStats entry = stats.get(fingerprint);
+            if (entry == null && stats.size() < properties.getMaxFingerprints()) {
+                entry = stats.computeIfAbsent(fingerprint, FingerprintStats::new);
+            }
+            if (entry == null) {
+                continue;
+            }
+            boolean newMax = entry.record(elapsedMs);
+            if (slow || sampled || newMax || entry.caller == null) {
+                if (caller == null) {
+                    caller = findCaller();
+                }
+                entry.caller = caller;
+            }
+        }
+
+        if (slow || sampled) {
+            if (caller == null) {
+                caller = findCaller();
+            }
+            for (QueryInfo query : queryInfoList) {
+                String parameters = describeParameters(query.getParametersList());
+                if (slow) {
+                    log.warn("Slow SQL ({} ms{}) from {}: {} params={}", elapsedMs,
+                            execInfo.isSuccess() ? "" : ", failed", caller, query.getQuery(), parameters);
+                } else {
+                    log.info("Sampled SQL ({} ms) from {}: {} params={}", elapsedMs, caller, query.getQuery(), parameters);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the statement fingerprints with the highest maximum execution time.
+     *
+     * @param limit the maximum number of fingerprints returned
+     * @return the slowest fingerprints, slowest first
+     */
+    public List<QueryStats> getSlowest(int limit) {
+        List<QueryStats> snapshot = new ArrayList<>(stats.size());
+        for (FingerprintStats entry : stats.values()) {
+            snapshot.add(entry.snapshot());
+        }
+        snapshot.sort(Comparator.comparingLong(QueryStats::maxMs).reversed());
+        return snapshot.subList(0, Math.min(limit, snapshot.size()));
+    }
+
+    /**
+     * Reduces a statement to its shape: literals become {@code ?}, IN lists collapse
+     * to one placeholder, and whitespace is normalized.
+     */
+    static String fingerprint(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    /**
+     * Describes bind values, redacting them to their type (and length for strings)
+     * unless {@code sql.trace.log-parameters} is on.
+     */
+    private String describeParameters(List<List<ParameterSetOperation>> parametersList) {
+        if (parametersList.isEmpty()) {
+            return "[]";
+        }
+        List<ParameterSetOperation> first = parametersList.get(0);
+        List<String> values = new ArrayList<>(first.size());
+        for (ParameterSetOperation operation : first) {
+            Object[] args = operation.getArgs();
+            Object value = args.length > 1 ? args[1] : null;
+            values.add(properties.isLogParameters() ? String.valueOf(value) : redact(value));
+        }
+        String described = values.toString();
+        return parametersList.size() > 1 ? described + " (batch of " + parametersList.size() + ")" : described;
+    }
+
+    private static String redact(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence text) {
+            return "String(" + text.length() + ")";
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    /**
+     * Finds the application method that issued the statement and, if it went through
+     * a Spring Data repository, the repository method name.
+     */
+    private static String findCaller() {
+        return STACK_WALKER.walk(frames -> {
+            String repositoryMethod = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (className.startsWith("jdk.proxy") || className.contains("$Proxy")) {
+                    repositoryMethod = frame.getMethodName();
+                } else if (className.startsWith(APP_PACKAGE) && !className.startsWith(OWN_PACKAGE)
+                        && !className.contains("$$")) {
+                    String caller = className.substring(className.lastIndexOf('.') + 1)
+                            + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+                    return repositoryMethod != null ? caller + " -> " + repositoryMethod : caller;
+                }
+            }
+            return repositoryMethod != null ? "repository " + repositoryMethod : "unknown";
+        });
+    }
+
+    /**
+     * Running statistics of one statement fingerprint.
+     */
+    private static final class FingerprintStats {
+        private final String fingerprint;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMs = new LongAdder();
+        private final AtomicLong maxMs = new AtomicLong(-1);
+        private volatile String caller;
+
+        private FingerprintStats(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        /**
+         * @return true if this execution is the slowest seen so far
+         */
+        private boolean record(long elapsedMs) {
+            count.increment();
+            totalMs.add(elapsedMs);
+            long previous = maxMs.getAndAccumulate(elapsedMs, Math::max);
+            return elapsedMs > previous;
+        }
+
+        private QueryStats snapshot() {
+            long executions = count.sum();
+            long total = totalMs.sum();
+            return new QueryStats(fingerprint, executions, total,
+                    executions == 0 ? 0 : (double) total / executions, Math.max(0, maxMs.get()), caller);
+        }
+    }
+
+    /**
+     * Aggregated statistics of one statement fingerprint.
+     *
+     * @param fingerprint the statement with literals replaced
+     * @param count number of executions
+     * @param totalMs total execution time in milliseconds
+     * @param avgMs average execution time in milliseconds
+     * @param maxMs slowest execution time in milliseconds
+     * @param caller the application method of the slowest or most recent traced execution
+     */
+    public record QueryStats(String fingerprint, long count, long totalMs, double avgMs, long maxMs, String caller) {
+    }
+}
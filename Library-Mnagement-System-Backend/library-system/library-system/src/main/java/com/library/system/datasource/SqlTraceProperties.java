@@ -0,0 +1,40 @@
+package com.library.system.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * SQL tracing settings bound from {@code sql.trace.*} properties.
+ */
+@Component
+@ConfigurationProperties(prefix = "sql.trace")
+@Data
+public class SqlTraceProperties {
+
+    /**
+     * Whether statements are timed and traced at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Statements taking at least this long are logged as slow.
+     */
+    private long slowThresholdMs = 200;
+
+    /**
+     * Fraction of the remaining statements that are logged, between 0 and 1.
+     */
+    private double sampleRate = 0.0;
+
+    /**
+     * Maximum number of distinct statement fingerprints tracked.
+     */
+    private int maxFingerprints = 1000;
+
+    /**
+     * Whether bind values are logged as-is instead of redacted. Never enable in production.
+     */
+    private boolean logParameters = false;
+}
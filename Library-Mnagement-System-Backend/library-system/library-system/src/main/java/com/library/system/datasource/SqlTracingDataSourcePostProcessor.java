@@ -0,0 +1,41 @@
+package com.library.system.datasource;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's data sources so every statement passes through
+ * {@link SqlTraceListener}. Replaces Hibernate's {@code show-sql} output.
+ */
+@Component
+@ConditionalOnProperty(name = "sql.trace.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTracingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlTraceListener> sqlTraceListener;
+
+    /**
+     * @param sqlTraceListener the listener, resolved lazily so this post-processor does not
+     *                         force early initialization of other beans
+     */
+    public SqlTracingDataSourcePostProcessor(ObjectProvider<SqlTraceListener> sqlTraceListener) {
+        this.sqlTraceListener = sqlTraceListener;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(sqlTraceListener.getObject())
+                    .build();
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,47 @@
+package com.library.system.dto;
+
+import com.library.system.model.BatchCheckpoint;
+
+import java.time.LocalDateTime;
+
+/**
+ * A batch run's checkpoint as returned by the admin endpoints.
+ *
+ * @param stepName the name of the batch step
+ * @param runKey the identifier of the run (e.g. the run date)
+ * @param status "Running", "Completed" or "Failed"
+ * @param lastKey key of the last item up to which all chunks are committed
+ * @param itemsRead items read across all executions of the run
+ * @param itemsWritten items written across all executions of the run
+ * @param chunks chunks committed across all executions of the run
+ * @param startedAt time the run was first started
+ * @param updatedAt time of the last checkpoint update
+ * @param finishedAt time the run completed, or null
+ * @param durationMs duration of the execution that completed (or failed) the run, in milliseconds
+ */
+public record BatchCheckpointResponse(String stepName, String runKey, String status, long lastKey,
+                                      long itemsRead, long itemsWritten, long chunks,
+                                      LocalDateTime startedAt, LocalDateTime updatedAt,
+                                      LocalDateTime finishedAt, long durationMs) {
+
+    /**
+     * Maps a checkpoint entity.
+     *
+     * @param checkpoint the checkpoint
+     * @return the response
+     */
+    public static BatchCheckpointResponse from(BatchCheckpoint checkpoint) {
+        return new BatchCheckpointResponse(
+                checkpoint.getStepName(),
+                checkpoint.getRunKey(),
+                checkpoint.getStatus(),
+                checkpoint.getLastKey(),
+                checkpoint.getItemsRead(),
+                checkpoint.getItemsWritten(),
+                checkpoint.getChunks(),
+                checkpoint.getStartedAt(),
+                checkpoint.getUpdatedAt(),
+                checkpoint.getFinishedAt(),
+                checkpoint.getDurationMs());
+    }
+}
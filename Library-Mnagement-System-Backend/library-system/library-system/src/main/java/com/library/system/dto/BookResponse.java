@@ -0,0 +1,32 @@
+package com.library.system.dto;
+
+import com.library.system.model.Book;
+
+/**
+ * A book as returned by the catalog endpoints.
+ *
+ * @param id the book ID
+ * @param title the title
+ * @param author the author
+ * @param category the category or genre
+ * @param totalCopies number of copies owned by the library
+ * @param availableCopies number of copies currently available for borrowing
+ * @param available true if at least one copy is available
+ * @param cover URL or path to the cover image
+ * @param description summary of the book
+ */
+public record BookResponse(Long id, String title, String author, String category, int totalCopies,
+                           int availableCopies, boolean available, String cover, String description) {
+
+    /**
+     * Maps a book entity.
+     *
+     * @param book the book
+     * @return the response
+     */
+    public static BookResponse from(Book book) {
+        return new BookResponse(book.getId(), book.getTitle(), book.getAuthor(), book.getCategory(),
+                book.getTotalCopies(), book.getAvailableCopies(), book.isAvailable(), book.getCover(),
+                book.getDescription());
+    }
+}
@@ -0,0 +1,61 @@
+package com.library.system.dto;
+
+import com.library.system.model.Book;
+import com.library.system.model.BorrowedBook;
+
+import java.time.LocalDate;
+
+/**
+ * A borrow record as returned by the borrow endpoints (e.g. the user's MyBooks list).
+ * The borrower is identified by ID only, and the book by a summary without its description.
+ *
+ * @param id the borrow record ID
+ * @param userId the ID of the borrower
+ * @param book the borrowed book
+ * @param borrowDate date the book was borrowed
+ * @param returnDate date the book is due back
+ * @param finePaid true if the fine has been paid
+ * @param accruedFine fine accrued so far for an overdue, unreturned book
+ * @param returned true if the book has been returned
+ * @param status "Pending", "Returned", "Fine" or "Borrow Cancelled"
+ */
+public record BorrowedBookResponse(Long id, Long userId, BookSummary book, LocalDate borrowDate,
+                                   LocalDate returnDate, boolean finePaid, int accruedFine,
+                                   boolean returned, String status) {
+
+    /**
+     * Maps a borrow record entity.
+     *
+     * @param borrowedBook the borrow record
+     * @return the response
+     */
+    public static BorrowedBookResponse from(BorrowedBook borrowedBook) {
+        return new BorrowedBookResponse(
+                borrowedBook.getId(),
+                borrowedBook.getUser() != null ? borrowedBook.getUser().getId() : null,
+                borrowedBook.getBook() != null ? BookSummary.from(borrowedBook.getBook()) : null,
+                borrowedBook.getBorrowDate(),
+                borrowedBook.getReturnDate(),
+                borrowedBook.isFinePaid(),
+                borrowedBook.getAccruedFine(),
+                borrowedBook.isReturned(),
+                borrowedBook.getStatus());
+    }
+
+    /**
+     * The fields of a book shown next to a borrow record.
+     *
+     * @param id the book ID
+     * @param title the title
+     * @param author the author
+     * @param category the category or genre
+     * @param cover URL or path to the cover image
+     */
+    public record BookSummary(Long id, String title, String author, String category, String cover) {
+
+        static BookSummary from(Book book) {
+            return new BookSummary(book.getId(), book.getTitle(), book.getAuthor(), book.getCategory(),
+                    book.getCover());
+        }
+    }
+}
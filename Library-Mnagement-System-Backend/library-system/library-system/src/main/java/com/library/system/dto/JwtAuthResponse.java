@@ -1,13 +1,12 @@
 package com.library.system.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-
-@Data
-@AllArgsConstructor
-public class JwtAuthResponse {
-    private String token;
-    private String email;
-    private String role;
-    private Long id;
+/**
+ * Response of a successful login.
+ *
+ * @param token the signed JWT
+ * @param email the user's email
+ * @param role the user's role
+ * @param id the user ID
+ */
+public record JwtAuthResponse(String token, String email, String role, Long id) {
 }
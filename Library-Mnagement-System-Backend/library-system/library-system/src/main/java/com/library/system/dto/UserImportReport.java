@@ -0,0 +1,27 @@
+package com.library.system.dto;
+
+import java.util.List;
+
+/**
+ * Result of a bulk user import.
+ *
+ * @param totalRows number of data rows read from the file
+ * @param imported number of users inserted
+ * @param failed number of rows rejected
+ * @param errors per-row errors, capped at {@code user-import.max-reported-errors}
+ * @param durationMs total import time in milliseconds
+ * @param rowsPerSecond data rows processed per second
+ */
+public record UserImportReport(long totalRows, long imported, long failed, List<RowError> errors,
+                               long durationMs, double rowsPerSecond) {
+
+    /**
+     * Why a row was not imported.
+     *
+     * @param line the line number in the file (the header is line 1)
+     * @param email the email on the row, if any
+     * @param message the reason the row was rejected
+     */
+    public record RowError(long line, String email, String message) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.library.system.dto;
+
+import com.library.system.model.User;
+
+/**
+ * A user as returned by the registration and profile endpoints; never includes the password hash.
+ *
+ * @param id the user ID
+ * @param name the full name
+ * @param email the email address
+ * @param role the role ("user" or "admin")
+ * @param mobile the mobile number
+ */
+public record UserResponse(Long id, String name, String email, String role, String mobile) {
+
+    /**
+     * Maps a user entity.
+     *
+     * @param user the user
+     * @return the response
+     */
+    public static UserResponse from(User user) {
+        return new UserResponse(user.getId(), user.getName(), user.getEmail(), user.getRole(), user.getMobile());
+    }
+}
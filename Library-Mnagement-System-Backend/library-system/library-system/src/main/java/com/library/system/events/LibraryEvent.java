@@ -0,0 +1,154 @@
+package com.library.system.events;
+
+import java.time.LocalDate;
+
+/**
+ * A committed inventory or loan change.
+ *
+ * Instances are the pre-allocated slots of the {@link LibraryEventBus} ring buffer and are
+ * overwritten once every consumer has moved past them, so handlers must copy what they
+ * need instead of keeping a reference to the event.
+ */
+public final class LibraryEvent {
+
+    private LibraryEventType type;
+    private long bookId;
+    private long loanId;
+    private long userId;
+    private boolean bookAvailable;
+    private boolean availabilityChanged;
+    private LocalDate borrowDate;
+    private LocalDate dueDate;
+    private int fine;
+    private boolean loanClosed;
+    private long publishedAtNanos;
+
+    /**
+     * Gets the kind of change.
+     *
+     * @return the event type
+     */
+    public LibraryEventType getType() {
+        return type;
+    }
+
+    /**
+     * Gets the ID of the book concerned.
+     *
+     * @return the book ID
+     */
+    public long getBookId() {
+        return bookId;
+    }
+
+    /**
+     * Gets the ID of the loan concerned, for borrow and return events.
+     *
+     * @return the loan ID, or 0 for book events
+     */
+    public long getLoanId() {
+        return loanId;
+    }
+
+    /**
+     * Gets the ID of the borrowing user, for borrow and return events.
+     *
+     * @return the user ID, or 0 for book events
+     */
+    public long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Checks whether the book had copies available after the change.
+     *
+     * @return true if the book is available
+     */
+    public boolean isBookAvailable() {
+        return bookAvailable;
+    }
+
+    /**
+     * Checks whether the change made the book available or unavailable. Always true
+     * for added and deleted books that are available.
+     *
+     * @return true if the book's availability changed
+     */
+    public boolean isAvailabilityChanged() {
+        return availabilityChanged;
+    }
+
+    /**
+     * Gets the borrow date of the loan, for borrow and return events.
+     *
+     * @return the borrow date, or null
+     */
+    public LocalDate getBorrowDate() {
+        return borrowDate;
+    }
+
+    /**
+     * Gets the date the loan was due back, for borrow and return events.
+     *
+     * @return the due date, or null
+     */
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    /**
+     * Gets the unpaid fine accrued on the loan when it was returned.
+     *
+     * @return the fine, or 0
+     */
+    public int getFine() {
+        return fine;
+    }
+
+    /**
+     * Checks whether a return closed an open loan; false if the loan was already returned.
+     *
+     * @return true if the loan was closed by this event
+     */
+    public boolean isLoanClosed() {
+        return loanClosed;
+    }
+
+    /**
+     * Gets when the event was published, from {@link System#nanoTime()}.
+     *
+     * @return the publish time
+     */
+    public long getPublishedAtNanos() {
+        return publishedAtNanos;
+    }
+
+    void setBook(LibraryEventType type, long bookId, boolean bookAvailable, boolean availabilityChanged) {
+        this.type = type;
+        this.bookId = bookId;
+        this.bookAvailable = bookAvailable;
+        this.availabilityChanged = availabilityChanged;
+    }
+
+    void setLoan(long loanId, long userId, LocalDate borrowDate, LocalDate dueDate, int fine, boolean loanClosed) {
+        this.loanId = loanId;
+        this.userId = userId;
+        this.borrowDate = borrowDate;
+        this.dueDate = dueDate;
+        this.fine = fine;
+        this.loanClosed = loanClosed;
+    }
+
+    void setPublishedAtNanos(long publishedAtNanos) {
+        this.publishedAtNanos = publishedAtNanos;
+    }
+
+    /**
+     * Clears the slot before it is reused.
+     */
+    void reset() {
+        setBook(null, 0, false, false);
+        setLoan(0, 0, null, null, 0, false);
+        publishedAtNanos = 0;
+    }
+}
@@ -0,0 +1,28 @@
+package com.library.system.events;
+
+/**
+ * Keeps derived state in sync with inventory and loan changes.
+ *
+ * Each handler bean gets its own consumer thread on the {@link LibraryEventBus} and sees
+ * every event in publish order. Events arrive in batches of whatever has been published
+ * since the last call, so a handler can do its expensive work once per batch, at
+ * {@code endOfBatch}. A handler that throws is logged and skips that event; it is not retried.
+ */
+public interface LibraryEventHandler {
+
+    /**
+     * Gets the name of the handler, used for its consumer thread and lag metrics.
+     *
+     * @return the handler name
+     */
+    String getEventHandlerName();
+
+    /**
+     * Handles one event. Called only from the handler's consumer thread.
+     *
+     * @param event the event; only valid during this call
+     * @param sequence the position of the event in the bus
+     * @param endOfBatch whether this is the last event currently available
+     */
+    void onEvent(LibraryEvent event, long sequence, boolean endOfBatch);
+}
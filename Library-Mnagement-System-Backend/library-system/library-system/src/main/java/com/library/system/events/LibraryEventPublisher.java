@@ -0,0 +1,114 @@
+package com.library.system.events;
+
+import com.library.system.catalog.CatalogVersion;
+import com.library.system.model.Book;
+import com.library.system.model.BorrowedBook;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Publishes inventory and loan changes on the {@link LibraryEventBus} once the
+ * current transaction commits, so handlers never see changes that roll back.
+ *
+ * Event values are captured when these methods are called, not at commit, and
+ * publishing happens on the committing thread without waiting for any handler.
+ * The {@link CatalogVersion} is advanced on that thread before publishing: stale
+ * cached catalog responses must stop being served at commit, which derived state on
+ * the bus is allowed to lag.
+ */
+@Component
+public class LibraryEventPublisher {
+
+    private final LibraryEventBus eventBus;
+    private final CatalogVersion catalogVersion;
+
+    public LibraryEventPublisher(LibraryEventBus eventBus, CatalogVersion catalogVersion) {
+        this.eventBus = eventBus;
+        this.catalogVersion = catalogVersion;
+    }
+
+    /**
+     * Publishes that a book was added.
+     *
+     * @param book the saved book
+     */
+    public void bookAdded(Book book) {
+        long bookId = book.getId();
+        boolean available = book.isAvailable();
+        afterCommit(event -> event.setBook(LibraryEventType.BOOK_ADDED, bookId, available, available));
+    }
+
+    /**
+     * Publishes that a book was deleted.
+     *
+     * @param book the book as it was before deletion
+     */
+    public void bookDeleted(Book book) {
+        long bookId = book.getId();
+        boolean available = book.isAvailable();
+        afterCommit(event -> event.setBook(LibraryEventType.BOOK_DELETED, bookId, available, available));
+    }
+
+    /**
+     * Publishes that a copy of a book was borrowed.
+     *
+     * @param loan the saved loan
+     * @param book the book after its copy count was updated
+     */
+    public void bookBorrowed(BorrowedBook loan, Book book) {
+        long bookId = book.getId();
+        boolean available = book.isAvailable();
+        long loanId = loan.getId();
+        long userId = loan.getUser().getId();
+        LocalDate borrowDate = loan.getBorrowDate();
+        LocalDate dueDate = loan.getReturnDate();
+        afterCommit(event -> {
+            event.setBook(LibraryEventType.BOOK_BORROWED, bookId, available, !available);
+            event.setLoan(loanId, userId, borrowDate, dueDate, 0, false);
+        });
+    }
+
+    /**
+     * Publishes that a borrowed copy was returned. Call before the loan and book are updated.
+     *
+     * @param loan the loan as it was before the return
+     * @param book the book as it was before the return
+     */
+    public void bookReturned(BorrowedBook loan, Book book) {
+        long bookId = book.getId();
+        boolean wasAvailable = book.isAvailable();
+        long loanId = loan.getId();
+        long userId = loan.getUser().getId();
+        LocalDate borrowDate = loan.getBorrowDate();
+        LocalDate dueDate = loan.getReturnDate();
+        boolean loanClosed = !loan.isReturned();
+        int fine = loanClosed && !loan.isFinePaid() ? loan.getAccruedFine() : 0;
+        afterCommit(event -> {
+            event.setBook(LibraryEventType.BOOK_RETURNED, bookId, true, !wasAvailable);
+            event.setLoan(loanId, userId, borrowDate, dueDate, fine, loanClosed);
+        });
+    }
+
+    private void afterCommit(Consumer<LibraryEvent> translator) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed(translator);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed(translator);
+            }
+        });
+    }
+
+    private void committed(Consumer<LibraryEvent> translator) {
+        catalogVersion.changed();
+        eventBus.publish(translator);
+    }
+}
@@ -0,0 +1,15 @@
+package com.library.system.events;
+
+/**
+ * Kinds of inventory and loan changes published on the {@link LibraryEventBus}.
+ */
+public enum LibraryEventType {
+    /** A book was added to the catalog. */
+    BOOK_ADDED,
+    /** A book was removed from the catalog. */
+    BOOK_DELETED,
+    /** A copy of a book was borrowed. */
+    BOOK_BORROWED,
+    /** A borrowed copy was returned. */
+    BOOK_RETURNED
+}
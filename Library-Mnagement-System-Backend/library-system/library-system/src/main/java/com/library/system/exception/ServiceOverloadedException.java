@@ -0,0 +1,28 @@
+package com.library.system.exception;
+
+/**
+ * Thrown when a request is shed because the server is at capacity.
+ * Results in a 503 Service Unavailable response with a Retry-After header.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * @param message the error message returned to the client
+     * @param retryAfterSeconds how long the client should wait before retrying
+     */
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Gets how long the client should wait before retrying.
+     *
+     * @return the delay in seconds
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,28 @@
+package com.library.system.exception;
+
+/**
+ * Thrown when a client exceeds a request limit.
+ * Results in a 429 Too Many Requests response with a Retry-After header.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * @param message the error message returned to the client
+     * @param retryAfterSeconds how long the client should wait before retrying
+     */
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Gets how long the client should wait before retrying.
+     *
+     * @return the delay in seconds
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,187 @@
+package com.library.system.loadshed;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of requests in flight to what the server can handle without queueing,
+ * adjusting the limit from measured latency.
+ *
+ * Latency is averaged over short windows and compared with a long-term average. While the
+ * two agree the limit grows by about its square root per window, probing for headroom; when
+ * recent latency exceeds the long-term average by more than the tolerance (the database is
+ * slowing down and requests start to queue), the limit shrinks in proportion. Windows with
+ * server errors cut the limit multiplicatively. The limit only grows when at least half of
+ * it was in use, so an idle server does not drift to the maximum.
+ *
+ * Each {@link PriorityClass} may fill its share of the limit; a request that would exceed
+ * its share is rejected at once instead of waiting, so lower classes are shed first.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    private final ConcurrencyLimitProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<PriorityClass, LongAdder> rejected = new EnumMap<>(PriorityClass.class);
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private final LongAdder windowRttNanos = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final LongAdder windowErrors = new LongAdder();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private volatile double shortRttNanos;
+    private volatile double longRttNanos;
+    private volatile long windowStartNanos = System.nanoTime();
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        this.limit = properties.getInitialLimit();
+        for (PriorityClass priority : PriorityClass.values()) {
+            rejected.put(priority, new LongAdder());
+        }
+    }
+
+    /**
+     * Admits a request if the requests in flight are below the share of the limit
+     * its priority class may use.
+     *
+     * @param priority the priority class of the request
+     * @return true if admitted, in which case {@link #release} must be called when it completes
+     */
+    public boolean tryAcquire(PriorityClass priority) {
+        int allowed = Math.max(1, (int) (limit * properties.getShares().getOrDefault(priority, 1.0)));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejected.get(priority).increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and records its latency.
+     *
+     * @param rttNanos how long the request took
+     * @param error whether it failed with a server error
+     */
+    public void release(long rttNanos, boolean error) {
+        release(rttNanos, error, System.nanoTime());
+    }
+
+    /**
+     * Releases a request, adds its latency to the current window and recomputes the
+     * limit once the window is complete.
+     */
+    void release(long rttNanos, boolean error, long nowNanos) {
+        inFlight.decrementAndGet();
+        windowRttNanos.add(rttNanos);
+        windowSamples.increment();
+        if (error) {
+            windowErrors.increment();
+        }
+        if (nowNanos - windowStartNanos < TimeUnit.MILLISECONDS.toNanos(properties.getWindowMs())
+                || windowSamples.sum() < properties.getMinWindowSamples()
+                || !updateLock.tryLock()) {
+            return;
+        }
+        try {
+            long samples = windowSamples.sumThenReset();
+            if (samples == 0) {
+                return;
+            }
+            double rtt = (double) windowRttNanos.sumThenReset() / samples;
+            boolean errors = windowErrors.sumThenReset() > 0;
+            int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+            windowStartNanos = nowNanos;
+            updateLimit(rtt, errors, maxInFlight);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private void updateLimit(double rtt, boolean errors, int maxInFlight) {
+        shortRttNanos = rtt;
+        double alpha = 2.0 / (properties.getLongWindows() + 1);
+        longRttNanos = longRttNanos == 0 ? rtt : longRttNanos * (1 - alpha) + rtt * alpha;
+
+        double current = limit;
+        double estimate;
+        if (errors) {
+            estimate = current * properties.getBackoffRatio();
+        } else {
+            double gradient = Math.max(0.5, Math.min(1.0, properties.getTolerance() * longRttNanos / rtt));
+            estimate = current * gradient + Math.sqrt(current);
+            if (maxInFlight < current / 2) {
+                estimate = Math.min(estimate, current);
+            }
+        }
+        double smoothed = current * (1 - properties.getSmoothing()) + estimate * properties.getSmoothing();
+        double next = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), smoothed));
+        if ((int) next != (int) current) {
+            log.debug("Concurrency limit {} -> {} (rtt {} ms, long-term {} ms, errors {})",
+                    (int) current, (int) next, rtt / 1_000_000, longRttNanos / 1_000_000, errors);
+        }
+        limit = next;
+    }
+
+    /**
+     * Gets the current limit and latency estimates.
+     *
+     * @return limiter statistics
+     */
+    public LimiterStats getStats() {
+        Map<PriorityClass, Long> shed = new EnumMap<>(PriorityClass.class);
+        rejected.forEach((priority, count) -> shed.put(priority, count.sum()));
+        return new LimiterStats((int) limit, inFlight.get(), shortRttNanos / 1_000_000,
+                longRttNanos / 1_000_000, shed);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("library.concurrency.limit", this, limiter -> (int) limiter.limit)
+                .description("Current adaptive limit on requests in flight")
+                .register(registry);
+        Gauge.builder("library.concurrency.in-flight", inFlight, AtomicInteger::get)
+                .description("Requests in flight admitted by the concurrency limiter")
+                .register(registry);
+        rejected.forEach((priority, count) -> FunctionCounter
+                .builder("library.concurrency.rejected", count, LongAdder::sum)
+                .tag("priority", priority.name().toLowerCase())
+                .description("Requests shed by the concurrency limiter")
+                .register(registry));
+    }
+
+    /**
+     * Concurrency limiter statistics.
+     *
+     * @param limit the current limit on requests in flight
+     * @param inFlight requests currently in flight
+     * @param recentRttMs average latency of the last measurement window
+     * @param longTermRttMs long-term average latency
+     * @param rejected requests shed per priority class since startup
+     */
+    public record LimiterStats(int limit, int inFlight, double recentRttMs, double longTermRttMs,
+                               Map<PriorityClass, Long> rejected) {
+    }
+}
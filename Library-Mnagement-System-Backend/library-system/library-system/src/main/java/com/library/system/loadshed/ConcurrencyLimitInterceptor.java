@@ -0,0 +1,87 @@
+package com.library.system.loadshed;
+
+import com.library.system.exception.ServiceOverloadedException;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admits controller calls through the {@link AdaptiveConcurrencyLimiter}.
+ *
+ * The priority class comes from the {@link RequestPriority} annotation on the handler
+ * method or its controller. Shed requests get 503 with a Retry-After header before the
+ * controller runs. Admitted requests report their latency when they complete; responses
+ * with a 5xx status count as errors.
+ *
+ * A request is admitted once, on its initial dispatch. Handlers that return a
+ * {@link java.util.concurrent.CompletableFuture} keep their permit while the future runs and
+ * release it when the async dispatch that writes the response completes.
+ */
+@Component
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ConcurrencyLimitProperties properties;
+    private final Map<Method, PriorityClass> priorities = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter, ConcurrencyLimitProperties properties) {
+        this.limiter = limiter;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled() || request.getDispatcherType() != DispatcherType.REQUEST
+                || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        if (!limiter.tryAcquire(priorityOf(handlerMethod))) {
+            throw new ServiceOverloadedException("Server is busy. Please retry shortly.",
+                    properties.getRetryAfterSeconds());
+        }
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    /**
+     * Keeps the permit when the handler started async processing; the async
+     * dispatch's {@link #afterCompletion} releases it.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        request.removeAttribute(START_ATTRIBUTE);
+        limiter.release(System.nanoTime() - (Long) start, ex != null || response.getStatus() >= 500);
+    }
+
+    private PriorityClass priorityOf(HandlerMethod handlerMethod) {
+        return priorities.computeIfAbsent(handlerMethod.getMethod(), method -> {
+            RequestPriority priority = AnnotatedElementUtils.findMergedAnnotation(method, RequestPriority.class);
+            if (priority == null) {
+                priority = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), RequestPriority.class);
+            }
+            return priority != null ? priority.value() : properties.getDefaultPriority();
+        });
+    }
+}
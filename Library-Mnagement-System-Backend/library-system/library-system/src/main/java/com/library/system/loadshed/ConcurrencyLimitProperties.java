@@ -0,0 +1,88 @@
+package com.library.system.loadshed;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Adaptive concurrency limit settings bound from {@code concurrency-limit.*} properties.
+ */
+@Component
+@ConfigurationProperties(prefix = "concurrency-limit")
+@Data
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Whether requests are admitted against the concurrency limit at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Limit on concurrent requests before any latency has been measured.
+     */
+    private int initialLimit = 100;
+
+    /**
+     * The limit never drops below this, so a latency spike cannot shut the server off.
+     */
+    private int minLimit = 10;
+
+    /**
+     * The limit never grows beyond this; keep it below the server thread pool size.
+     */
+    private int maxLimit = 180;
+
+    /**
+     * How much slower than the long-term average latency the recent latency may be
+     * before the limit shrinks (1.5 = 50% slower).
+     */
+    private double tolerance = 1.5;
+
+    /**
+     * Weight of each new limit estimate, between 0 and 1; lower values adapt more slowly.
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Factor the limit is multiplied by when a window contains server errors.
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * Minimum duration of a measurement window in milliseconds.
+     */
+    private long windowMs = 1000;
+
+    /**
+     * Minimum number of completed requests in a measurement window.
+     */
+    private int minWindowSamples = 20;
+
+    /**
+     * Number of windows the long-term latency average spans.
+     */
+    private int longWindows = 60;
+
+    /**
+     * Seconds shed clients are asked to wait before retrying.
+     */
+    private long retryAfterSeconds = 1;
+
+    /**
+     * Priority class of handlers without a {@link RequestPriority} annotation.
+     */
+    private PriorityClass defaultPriority = PriorityClass.BROWSE;
+
+    /**
+     * Fraction of the limit each priority class may fill. A class is shed once the
+     * requests in flight reach its share, leaving the rest for higher classes.
+     */
+    private Map<PriorityClass, Double> shares = new EnumMap<>(Map.of(
+            PriorityClass.CRITICAL, 1.0,
+            PriorityClass.BROWSE, 0.75,
+            PriorityClass.DASHBOARD, 0.5));
+}
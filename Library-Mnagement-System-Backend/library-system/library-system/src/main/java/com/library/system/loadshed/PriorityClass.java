@@ -0,0 +1,14 @@
+package com.library.system.loadshed;
+
+/**
+ * Priority classes for load shedding. Each class may use its configured share of the
+ * adaptive concurrency limit, so lower classes are shed first as the limit shrinks.
+ */
+public enum PriorityClass {
+    /** Borrowing and returning books. */
+    CRITICAL,
+    /** Catalog browsing and other user-facing reads. */
+    BROWSE,
+    /** Dashboard counts and admin statistics. */
+    DASHBOARD
+}
@@ -0,0 +1,23 @@
+package com.library.system.loadshed;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Assigns a controller, or a single handler method, to a load-shedding priority class.
+ * An annotation on the method overrides the one on its controller; handlers without
+ * either use {@code concurrency-limit.default-priority}.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequestPriority {
+
+    /**
+     * The priority class of the handler.
+     */
+    PriorityClass value();
+}
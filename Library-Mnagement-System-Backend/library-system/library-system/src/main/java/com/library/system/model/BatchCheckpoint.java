@@ -0,0 +1,88 @@
+package com.library.system.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a batch step for one run. Stores the key of the last item
+ * up to which every chunk has been committed, so a crashed run resumes there.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchCheckpoint {
+
+    public static final String STATUS_RUNNING = "Running";
+    public static final String STATUS_COMPLETED = "Completed";
+    public static final String STATUS_FAILED = "Failed";
+
+    /**
+     * Checkpoint key in the form {@code stepName@runKey}.
+     */
+    @Id
+    private String id;
+
+    /**
+     * Name of the batch step.
+     */
+    private String stepName;
+
+    /**
+     * Identifier of the run (e.g. the run date).
+     */
+    private String runKey;
+
+    /**
+     * Status of the run: "Running", "Completed" or "Failed".
+     */
+    private String status;
+
+    /**
+     * Key of the last item up to which all chunks are committed.
+     */
+    private long lastKey;
+
+    /**
+     * Total number of items read across all executions of this run.
+     */
+    private long itemsRead;
+
+    /**
+     * Total number of items written across all executions of this run.
+     */
+    private long itemsWritten;
+
+    /**
+     * Total number of chunks committed across all executions of this run.
+     */
+    private long chunks;
+
+    /**
+     * Time the run was first started.
+     */
+    private LocalDateTime startedAt;
+
+    /**
+     * Time of the last checkpoint update.
+     */
+    private LocalDateTime updatedAt;
+
+    /**
+     * Time the run completed.
+     */
+    private LocalDateTime finishedAt;
+
+    /**
+     * Duration of the execution that completed (or failed) the run, in milliseconds.
+     */
+    private long durationMs;
+}
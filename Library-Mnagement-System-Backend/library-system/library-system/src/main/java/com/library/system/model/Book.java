@@ -1,13 +1,21 @@
 package com.library.system.model;
 
+import com.library.system.cache.SecondLevelCacheConfig;
+
 import jakarta.persistence.*;
 import lombok.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 /**
  * Represents a book in the Library Management System.
  * Supports tracking multiple physical copies.
+ * Cached in the second-level cache; inventory updates re-read the row under a lock.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.BOOK_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
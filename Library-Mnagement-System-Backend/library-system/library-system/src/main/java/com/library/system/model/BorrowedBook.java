@@ -58,12 +58,23 @@ public class BorrowedBook {
      */
     private boolean finePaid;
 
+    /**
+     * Fine accrued so far for an overdue, unreturned book.
+     * Updated by the nightly fine accrual job.
+     */
+    private int accruedFine;
+
     /**
      * Indicates if the book has been returned.
      * true = returned, false = not returned yet.
      */
     private boolean returned;
 
+    /**
+     * Date when the book was actually returned; null while it is still borrowed.
+     */
+    private LocalDate returnedOn;
+
     /**
      * Status of the borrowing record: "Pending", "Returned", or "Fine".
      */
@@ -0,0 +1,75 @@
+package com.library.system.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents the lease on one partition of a scheduled job.
+ * The node holding an unexpired lease is the only one allowed to run the partition;
+ * it keeps the lease alive with heartbeats, and any node may take over once it expires.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobLease {
+
+    /**
+     * Lease key in the form {@code jobName#partition}.
+     */
+    @Id
+    private String name;
+
+    /**
+     * Name of the job this partition belongs to.
+     */
+    private String jobName;
+
+    /**
+     * Index of the partition, from 0 to partitionCount - 1.
+     */
+    private int partitionIndex;
+
+    /**
+     * Number of partitions the job is split into.
+     */
+    private int partitionCount;
+
+    /**
+     * Key of the run most recently started on this partition (e.g. the run date).
+     */
+    private String runKey;
+
+    /**
+     * Key of the run most recently completed on this partition.
+     */
+    private String completedRunKey;
+
+    /**
+     * Number of times the run in {@code runKey} was started on this partition.
+     */
+    private int attempts;
+
+    /**
+     * Node currently holding the lease, or null if free.
+     */
+    private String owner;
+
+    /**
+     * Time at which the current lease expires unless renewed, by the database clock.
+     */
+    private LocalDateTime leaseUntil;
+
+    /**
+     * Time of the last heartbeat from the owner.
+     */
+    private LocalDateTime heartbeatAt;
+}
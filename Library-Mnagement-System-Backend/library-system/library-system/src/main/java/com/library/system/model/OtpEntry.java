@@ -0,0 +1,65 @@
+package com.library.system.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Persisted OTP state for one mobile number.
+ * Only used when {@code otp.store=database}, so several nodes share OTPs and limits.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_otp_entry_purge_at", columnList = "purge_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OtpEntry {
+
+    /**
+     * Mobile number the OTP belongs to.
+     */
+    @Id
+    @Column(length = 10)
+    private String mobile;
+
+    /**
+     * Current one-time password; null once consumed or invalidated.
+     */
+    private String otp;
+
+    /**
+     * Timestamp when the current OTP expires.
+     */
+    private LocalDateTime expiresAt;
+
+    /**
+     * Number of wrong verification attempts for the current OTP.
+     */
+    private int attempts;
+
+    /**
+     * Start of the current send-limit window.
+     */
+    private LocalDateTime windowStart;
+
+    /**
+     * Number of OTPs sent in the current window.
+     */
+    private int sends;
+
+    /**
+     * Timestamp after which the row holds no live OTP or window and can be deleted.
+     */
+    @Column(name = "purge_at")
+    private LocalDateTime purgeAt;
+}
@@ -0,0 +1,95 @@
+package com.library.system.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents a notification waiting to be delivered.
+ * Rows are written in the same transaction as the change that triggers them
+ * and are later claimed and dispatched by the outbox relay.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_outbox_status_available", columnList = "status, available_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxMessage {
+
+    public static final String STATUS_PENDING = "Pending";
+    public static final String STATUS_PROCESSING = "Processing";
+    public static final String STATUS_SENT = "Sent";
+    public static final String STATUS_FAILED = "Failed";
+
+    /**
+     * Unique ID for each outbox message.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Kind of notification (e.g., "OTP" or "REMINDER").
+     */
+    private String type;
+
+    /**
+     * Recipient mobile number.
+     */
+    private String mobile;
+
+    /**
+     * Message content to send.
+     */
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    /**
+     * Delivery status: "Pending", "Processing", "Sent" or "Failed".
+     */
+    private String status;
+
+    /**
+     * Number of delivery attempts made so far.
+     */
+    private int attempts;
+
+    /**
+     * Earliest time the message may be claimed. While a message is being
+     * processed this is the claim expiry, after which another relay may retry it.
+     */
+    private LocalDateTime availableAt;
+
+    /**
+     * Node that currently holds (or last held) the claim on this message.
+     */
+    private String claimedBy;
+
+    /**
+     * Last delivery error, if any.
+     */
+    @Column(length = 500)
+    private String lastError;
+
+    /**
+     * Timestamp when the message was written.
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * Timestamp when the message was delivered.
+     */
+    private LocalDateTime sentAt;
+}
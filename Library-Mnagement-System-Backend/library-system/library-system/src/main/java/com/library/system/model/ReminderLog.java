@@ -0,0 +1,56 @@
+package com.library.system.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Records that a due-date reminder has been sent for a borrowed book.
+ * Used to keep reminder runs idempotent and to catch up on missed days.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReminderLog {
+
+    /**
+     * Unique ID for each reminder record.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID of the borrowed book record the reminder was sent for.
+     * Only one reminder is ever sent per borrow record.
+     */
+    @Column(unique = true, nullable = false)
+    private Long borrowedBookId;
+
+    /**
+     * ID of the user who received the reminder.
+     */
+    private Long userId;
+
+    /**
+     * Due date of the borrowed book at the time the reminder was sent.
+     */
+    private LocalDate dueDate;
+
+    /**
+     * Timestamp when the reminder was sent.
+     */
+    private LocalDateTime sentAt;
+}
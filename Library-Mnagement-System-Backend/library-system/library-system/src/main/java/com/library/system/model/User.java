@@ -1,16 +1,22 @@
 package com.library.system.model;
 
-import java.time.LocalDateTime;
+import com.library.system.cache.SecondLevelCacheConfig;
 
 import jakarta.persistence.*;
 import lombok.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 /**
  * Represents a user in the Library Management System.
  * A user can be a normal user or an admin.
- * Supports OTP-based login and password reset.
+ * OTPs for login and password reset are kept in the OTP store, not on this entity.
+ * Cached in the second-level cache, as are lookups by email and mobile.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USER_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -51,15 +57,4 @@ public class User {
      */
     @Column(length = 10, unique = true)
     private String mobile;
-
-    /**
-     * One-Time Password for account verification or password reset.
-     */
-    private String otp;
-
-    /**
-     * Timestamp when the OTP was generated.
-     */
-    @Column(name = "otp_generated_time", columnDefinition = "DATETIME")
-    private LocalDateTime otpGeneratedTime;
 }
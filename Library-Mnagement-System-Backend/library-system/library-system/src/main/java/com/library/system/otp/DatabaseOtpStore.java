@@ -0,0 +1,115 @@
+package com.library.system.otp;
+
+import com.library.system.model.OtpEntry;
+import com.library.system.repository.OtpEntryRepository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * OTP store shared by several nodes through the {@code otp_entry} table.
+ * Each operation locks the mobile number's row, so OTPs and limits are consistent cluster-wide.
+ */
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "database")
+public class DatabaseOtpStore implements OtpStore {
+
+    private final OtpEntryRepository otpEntryRepository;
+    private final TransactionTemplate insertTransaction;
+
+    /**
+     * @param otpEntryRepository the repository holding OTP rows
+     * @param transactionManager used to create missing rows in their own transaction
+     */
+    public DatabaseOtpStore(OtpEntryRepository otpEntryRepository, PlatformTransactionManager transactionManager) {
+        this.otpEntryRepository = otpEntryRepository;
+        this.insertTransaction = new TransactionTemplate(transactionManager);
+        this.insertTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional
+    public Duration tryRegisterSend(String mobile, int maxSends, Duration window) {
+        OtpEntry entry = lock(mobile);
+        // Read the clock only once the lock is held, so a window opened by the previous holder is not in the future
+        LocalDateTime now = LocalDateTime.now();
+        if (entry.getWindowStart() == null || !now.isBefore(entry.getWindowStart().plus(window))) {
+            entry.setWindowStart(now);
+            entry.setSends(0);
+        }
+        if (entry.getSends() >= maxSends) {
+            return Duration.between(now, entry.getWindowStart().plus(window));
+        }
+        entry.setSends(entry.getSends() + 1);
+        entry.setPurgeAt(max(entry.getExpiresAt(), entry.getWindowStart().plus(window)));
+        return Duration.ZERO;
+    }
+
+    @Override
+    @Transactional
+    public void store(String mobile, String otp, Instant expiresAt) {
+        OtpEntry entry = lock(mobile);
+        entry.setOtp(otp);
+        entry.setExpiresAt(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()));
+        entry.setAttempts(0);
+        entry.setPurgeAt(max(entry.getPurgeAt(), entry.getExpiresAt()));
+    }
+
+    @Override
+    @Transactional
+    public VerifyResult verify(String mobile, String otp, int maxAttempts) {
+        OtpEntry entry = otpEntryRepository.findForUpdate(mobile).orElse(null);
+        if (entry == null || entry.getOtp() == null || !LocalDateTime.now().isBefore(entry.getExpiresAt())) {
+            return VerifyResult.NOT_FOUND;
+        }
+        if (entry.getOtp().equals(otp)) {
+            entry.setOtp(null);
+            return VerifyResult.MATCH;
+        }
+        entry.setAttempts(entry.getAttempts() + 1);
+        if (entry.getAttempts() >= maxAttempts) {
+            entry.setOtp(null);
+            return VerifyResult.TOO_MANY_ATTEMPTS;
+        }
+        return VerifyResult.MISMATCH;
+    }
+
+    @Override
+    public void sweep() {
+        otpEntryRepository.deletePurgeableBefore(LocalDateTime.now());
+    }
+
+    /**
+     * Locks the row for a mobile number, creating it first if needed.
+     * The insert runs in its own transaction, so losing the race to another node
+     * does not roll back the caller's.
+     */
+    private OtpEntry lock(String mobile) {
+        return otpEntryRepository.findForUpdate(mobile).orElseGet(() -> {
+            try {
+                insertTransaction.executeWithoutResult(status -> otpEntryRepository.insert(mobile));
+            } catch (DataIntegrityViolationException ex) {
+                // Another node created it first
+            }
+            return otpEntryRepository.findForUpdate(mobile)
+                    .orElseThrow(() -> new IllegalStateException("OTP row missing for " + mobile));
+        });
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,97 @@
+package com.library.system.otp;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-node OTP store backed by a concurrent map.
+ * Entries are updated atomically with {@code compute} and removed by the TTL sweeper.
+ */
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOtpStore implements OtpStore {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public Duration tryRegisterSend(String mobile, int maxSends, Duration window) {
+        Duration[] wait = {Duration.ZERO};
+        entries.compute(mobile, (key, entry) -> {
+            Instant now = Instant.now();
+            Entry current = entry == null ? new Entry() : entry;
+            if (current.windowStart == null || !now.isBefore(current.windowStart.plus(window))) {
+                current.windowStart = now;
+                current.windowEnd = now.plus(window);
+                current.sends = 0;
+            }
+            if (current.sends < maxSends) {
+                current.sends++;
+            } else {
+                wait[0] = Duration.between(now, current.windowEnd);
+            }
+            return current;
+        });
+        return wait[0];
+    }
+
+    @Override
+    public void store(String mobile, String otp, Instant expiresAt) {
+        entries.compute(mobile, (key, entry) -> {
+            Entry current = entry == null ? new Entry() : entry;
+            current.otp = otp;
+            current.expiresAt = expiresAt;
+            current.attempts = 0;
+            return current;
+        });
+    }
+
+    @Override
+    public VerifyResult verify(String mobile, String otp, int maxAttempts) {
+        Instant now = Instant.now();
+        VerifyResult[] result = {VerifyResult.NOT_FOUND};
+        entries.computeIfPresent(mobile, (key, entry) -> {
+            if (entry.otp == null || !now.isBefore(entry.expiresAt)) {
+                entry.otp = null;
+            } else if (entry.otp.equals(otp)) {
+                entry.otp = null;
+                result[0] = VerifyResult.MATCH;
+            } else if (++entry.attempts >= maxAttempts) {
+                entry.otp = null;
+                result[0] = VerifyResult.TOO_MANY_ATTEMPTS;
+            } else {
+                result[0] = VerifyResult.MISMATCH;
+            }
+            return entry.isEmpty(now) ? null : entry;
+        });
+        return result[0];
+    }
+
+    @Override
+    public void sweep() {
+        Instant now = Instant.now();
+        entries.entrySet().removeIf(e -> e.getValue().isEmpty(now));
+    }
+
+    /**
+     * Mutable per-mobile state; only modified inside {@code compute} calls.
+     */
+    private static final class Entry {
+        private String otp;
+        private Instant expiresAt;
+        private int attempts;
+        private Instant windowStart;
+        private Instant windowEnd;
+        private int sends;
+
+        private boolean isEmpty(Instant now) {
+            boolean otpLive = otp != null && now.isBefore(expiresAt);
+            boolean windowLive = windowEnd != null && now.isBefore(windowEnd);
+            return !otpLive && !windowLive;
+        }
+    }
+}
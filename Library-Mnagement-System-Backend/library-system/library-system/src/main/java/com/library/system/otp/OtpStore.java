@@ -0,0 +1,62 @@
+package com.library.system.otp;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Storage for one-time passwords, keyed by mobile number.
+ * OTPs are short-lived secrets, so they are kept here instead of on the User row.
+ * Implementations must apply every operation atomically per mobile number.
+ */
+public interface OtpStore {
+
+    /**
+     * Outcome of an OTP verification attempt.
+     */
+    enum VerifyResult {
+        /** The OTP matched and has been consumed. */
+        MATCH,
+        /** The OTP did not match; the attempt was counted. */
+        MISMATCH,
+        /** No unexpired OTP exists for the mobile number. */
+        NOT_FOUND,
+        /** Too many wrong attempts; the OTP has been invalidated. */
+        TOO_MANY_ATTEMPTS
+    }
+
+    /**
+     * Records an OTP send for a mobile number if the send limit allows it.
+     *
+     * @param mobile the mobile number
+     * @param maxSends the maximum number of sends per window
+     * @param window the length of the send window
+     * @return {@link Duration#ZERO} if the send is allowed and was recorded, otherwise
+     *         the time left until the current window ends
+     */
+    Duration tryRegisterSend(String mobile, int maxSends, Duration window);
+
+    /**
+     * Stores a new OTP for a mobile number, replacing any previous one and resetting its attempts.
+     *
+     * @param mobile the mobile number
+     * @param otp the one-time password
+     * @param expiresAt when the OTP expires
+     */
+    void store(String mobile, String otp, Instant expiresAt);
+
+    /**
+     * Verifies an OTP. A matching OTP is consumed; a wrong one counts as an attempt,
+     * and the OTP is invalidated once {@code maxAttempts} wrong attempts were made.
+     *
+     * @param mobile the mobile number
+     * @param otp the OTP entered by the user
+     * @param maxAttempts the maximum number of wrong attempts
+     * @return the verification result
+     */
+    VerifyResult verify(String mobile, String otp, int maxAttempts);
+
+    /**
+     * Removes expired OTPs and send windows.
+     */
+    void sweep();
+}
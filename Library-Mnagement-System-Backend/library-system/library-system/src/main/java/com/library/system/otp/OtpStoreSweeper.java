@@ -0,0 +1,28 @@
+package com.library.system.otp;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically removes expired OTPs and send windows from the active {@link OtpStore}.
+ */
+@Component
+public class OtpStoreSweeper {
+
+    private final OtpStore otpStore;
+
+    /**
+     * @param otpStore the active OTP store
+     */
+    public OtpStoreSweeper(OtpStore otpStore) {
+        this.otpStore = otpStore;
+    }
+
+    /**
+     * Sweeps the store at a fixed interval.
+     */
+    @Scheduled(initialDelayString = "${scheduling.startup-delay-ms:0}", fixedDelayString = "${otp.sweep-interval-ms:60000}")
+    public void sweep() {
+        otpStore.sweep();
+    }
+}
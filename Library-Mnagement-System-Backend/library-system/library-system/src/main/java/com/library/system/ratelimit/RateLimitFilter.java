@@ -0,0 +1,104 @@
+package com.library.system.ratelimit;
+
+import com.library.system.security.AuthenticatedUser;
+import com.library.system.security.JwtAuthenticationFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter that enforces the configured rate limits before any controller runs.
+ *
+ * Runs after {@link JwtAuthenticationFilter}, so rules keyed by user can use the
+ * resolved principal. Rejected requests get 429 with a Retry-After header and are
+ * counted per rule in {@code library.ratelimit.rejected}.
+ * The client IP is the remote address; behind a proxy, enable
+ * {@code server.forward-headers-strategy} so it reflects the real client.
+ */
+@Component
+@Order(RateLimitFilter.ORDER)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final int ORDER = JwtAuthenticationFilter.ORDER + 10;
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            if (!matches(rule, path)) {
+                continue;
+            }
+            long retryAfter = rateLimiter.tryAcquire(rule, resolveKey(rule, request));
+            if (retryAfter > 0) {
+                meterRegistry.counter("library.ratelimit.rejected", "rule", rule.getName()).increment();
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getWriter().write("{\"error\":\"Too many requests, please try again later\"}");
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private boolean matches(RateLimitProperties.Rule rule, String path) {
+        for (String pattern : rule.getPatterns()) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String resolveKey(RateLimitProperties.Rule rule, HttpServletRequest request) {
+        switch (rule.getKey()) {
+            case USER -> {
+                AuthenticatedUser principal = AuthenticatedUser.from(request);
+                if (principal != null) {
+                    return "user:" + principal.id();
+                }
+            }
+            case MOBILE -> {
+                String mobile = request.getParameter("mobile");
+                if (mobile != null && !mobile.isBlank()) {
+                    return "mobile:" + mobile.strip();
+                }
+            }
+            default -> {
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
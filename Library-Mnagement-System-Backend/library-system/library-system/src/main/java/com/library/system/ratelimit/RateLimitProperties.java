@@ -0,0 +1,83 @@
+package com.library.system.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limit settings bound from {@code rate-limit.*} properties.
+ */
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+@Data
+public class RateLimitProperties {
+
+    /**
+     * Whether requests are rate limited at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of buckets kept in memory across all rules.
+     * When it is reached, the least recently used buckets are evicted to make room.
+     */
+    private int maxBuckets = 100_000;
+
+    /**
+     * Seconds after which an unused bucket is evicted.
+     */
+    private long idleTimeoutSeconds = 600;
+
+    /**
+     * Limits applied to matching requests. A request must pass every rule it matches.
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    /**
+     * What a rule's buckets are keyed by.
+     */
+    public enum KeyType {
+        /** The client IP address. */
+        IP,
+        /** The authenticated user ID, or the IP for anonymous requests. */
+        USER,
+        /** The {@code mobile} request parameter, or the IP if it is missing. */
+        MOBILE
+    }
+
+    /**
+     * A limit for requests whose path matches one of the patterns.
+     */
+    @Data
+    public static class Rule {
+
+        /**
+         * Name of the rule, used in bucket keys and logs.
+         */
+        private String name;
+
+        /**
+         * Ant-style path patterns the rule applies to (e.g., {@code /api/borrow/**}).
+         */
+        private List<String> patterns = new ArrayList<>();
+
+        /**
+         * What the buckets are keyed by.
+         */
+        private KeyType key = KeyType.IP;
+
+        /**
+         * Maximum burst size.
+         */
+        private double capacity;
+
+        /**
+         * Tokens added per second.
+         */
+        private double refillPerSecond;
+    }
+}
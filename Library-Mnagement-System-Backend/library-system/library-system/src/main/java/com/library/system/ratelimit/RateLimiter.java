@@ -0,0 +1,135 @@
+package com.library.system.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps one {@link TokenBucket} per rule and key.
+ *
+ * Memory is bounded: idle buckets are evicted periodically, and once
+ * {@code rate-limit.max-buckets} is reached the least recently used buckets are
+ * evicted to make room, so every key keeps a bucket of its own.
+ *
+ * Limits are per node. Buckets live in this instance's memory, so a client whose
+ * requests are spread over several instances gets the configured rate on each.
+ */
+@Component
+public class RateLimiter implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+
+    private final RateLimitProperties properties;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    /**
+     * @param properties the rate limit settings
+     */
+    public RateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Takes one token from the bucket of the given rule and key.
+     *
+     * @param rule the rule being applied
+     * @param key the client key (IP, user ID or mobile number)
+     * @return 0 if the request is allowed, otherwise the number of seconds until it would be
+     */
+    public long tryAcquire(RateLimitProperties.Rule rule, String key) {
+        long now = System.nanoTime();
+        String bucketKey = rule.getName() + ':' + key;
+        TokenBucket bucket = buckets.get(bucketKey);
+        if (bucket == null) {
+            if (buckets.size() >= properties.getMaxBuckets()) {
+                makeRoom();
+            }
+            bucket = buckets.computeIfAbsent(bucketKey, k -> new TokenBucket(rule.getCapacity(), now));
+        }
+        return bucket.tryConsume(rule.getCapacity(), rule.getRefillPerSecond(), now);
+    }
+
+    /**
+     * Evicts idle buckets and, if that is not enough, the least recently used ones.
+     * One percent of the capacity is freed at a time so the scan is not repeated for
+     * every new key. Only one thread scans; others add their bucket meanwhile, which
+     * may overshoot the limit briefly.
+     */
+    private void makeRoom() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            evictIdle();
+            int maxBuckets = properties.getMaxBuckets();
+            int excess = buckets.size() - maxBuckets + Math.max(1, maxBuckets / 100);
+            if (excess <= 0) {
+                return;
+            }
+            // Access times keep changing, so sort a snapshot of them
+            List<Accessed> accessed = new ArrayList<>(buckets.size());
+            buckets.forEach((key, bucket) -> accessed.add(new Accessed(key, bucket, bucket.getLastAccessNanos())));
+            accessed.sort(Comparator.comparingLong(Accessed::lastAccessNanos));
+            int evicted = Math.min(excess, accessed.size());
+            for (int i = 0; i < evicted; i++) {
+                buckets.remove(accessed.get(i).key(), accessed.get(i).bucket());
+            }
+            log.debug("Evicted {} least recently used rate limit buckets", evicted);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of buckets currently in memory.
+     *
+     * @return the bucket count
+     */
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    /**
+     * Exports the bucket count as the {@code library.ratelimit.buckets} gauge.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("library.ratelimit.buckets", buckets, Map::size).register(registry);
+    }
+
+    /**
+     * Evicts buckets that have not been used within the idle timeout.
+     * An evicted bucket would have refilled completely, so eviction never loosens a limit
+     * as long as the timeout exceeds the time to refill.
+     */
+    @Scheduled(initialDelayString = "${scheduling.startup-delay-ms:0}", fixedDelayString = "${rate-limit.sweep-interval-ms:30000}")
+    public void evictIdle() {
+        long cutoff = System.nanoTime() - TimeUnit.SECONDS.toNanos(properties.getIdleTimeoutSeconds());
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.getLastAccessNanos() - cutoff < 0);
+        int evicted = before - buckets.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+
+    /**
+     * A bucket with its last access time, as seen when eviction started.
+     */
+    private record Accessed(String key, TokenBucket bucket, long lastAccessNanos) {
+    }
+}
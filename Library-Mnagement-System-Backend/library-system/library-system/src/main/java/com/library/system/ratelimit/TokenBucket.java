@@ -0,0 +1,61 @@
+package com.library.system.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket.
+ *
+ * The token count and refill time are kept in one immutable state object that is
+ * replaced with compare-and-set, so concurrent requests for the same key never block.
+ */
+final class TokenBucket {
+
+    private final AtomicReference<State> state;
+    private volatile long lastAccessNanos;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param capacity the maximum number of tokens
+     * @param nowNanos the current {@link System#nanoTime()}
+     */
+    TokenBucket(double capacity, long nowNanos) {
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+        this.lastAccessNanos = nowNanos;
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param capacity the maximum number of tokens
+     * @param refillPerSecond tokens added per second
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return 0 if a token was taken, otherwise the number of seconds until one is available
+     */
+    long tryConsume(double capacity, double refillPerSecond, long nowNanos) {
+        lastAccessNanos = nowNanos;
+        while (true) {
+            State current = state.get();
+            double elapsedSeconds = Math.max(0, nowNanos - current.refilledAtNanos()) / 1e9;
+            double tokens = Math.min(capacity, current.tokens() + elapsedSeconds * refillPerSecond);
+            if (tokens < 1) {
+                return Math.max(1, (long) Math.ceil((1 - tokens) / refillPerSecond));
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, nowNanos))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gets when the bucket was last used.
+     *
+     * @return the {@link System#nanoTime()} of the last access
+     */
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    private record State(double tokens, long refilledAtNanos) {
+    }
+}
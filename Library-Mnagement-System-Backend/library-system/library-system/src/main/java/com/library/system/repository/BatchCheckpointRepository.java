@@ -0,0 +1,66 @@
+package com.library.system.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.library.system.model.BatchCheckpoint;
+
+/**
+ * Repository interface for BatchCheckpoint entity.
+ */
+public interface BatchCheckpointRepository extends JpaRepository<BatchCheckpoint, String> {
+
+    /**
+     * Advances the checkpoint of a run and adds to its counters.
+     *
+     * @param id the checkpoint key
+     * @param lastKey the new resume key
+     * @param itemsRead items read since the previous update
+     * @param itemsWritten items written since the previous update
+     * @param chunks chunks committed since the previous update
+     * @param updatedAt the update time
+     * @return the number of rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BatchCheckpoint c SET c.lastKey = :lastKey, c.itemsRead = c.itemsRead + :itemsRead, "
+            + "c.itemsWritten = c.itemsWritten + :itemsWritten, c.chunks = c.chunks + :chunks, c.updatedAt = :updatedAt "
+            + "WHERE c.id = :id")
+    int advance(@Param("id") String id,
+                @Param("lastKey") long lastKey,
+                @Param("itemsRead") long itemsRead,
+                @Param("itemsWritten") long itemsWritten,
+                @Param("chunks") long chunks,
+                @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Marks a run as completed or failed.
+     *
+     * @param id the checkpoint key
+     * @param status the final status
+     * @param finishedAt the finish time, or null if the run failed
+     * @param durationMs the duration of the last execution
+     * @return the number of rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BatchCheckpoint c SET c.status = :status, c.finishedAt = :finishedAt, c.durationMs = :durationMs "
+            + "WHERE c.id = :id")
+    int finish(@Param("id") String id,
+               @Param("status") String status,
+               @Param("finishedAt") LocalDateTime finishedAt,
+               @Param("durationMs") long durationMs);
+
+    /**
+     * Finds the 50 most recently started runs.
+     *
+     * @return recent checkpoints, newest first
+     */
+    List<BatchCheckpoint> findTop50ByOrderByStartedAtDesc();
+}
@@ -28,6 +28,13 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      */
     List<Book> findByAvailableTrue();
 
+    /**
+     * Counts the books that are currently available for borrowing.
+     *
+     * @return the number of available books
+     */
+    long countByAvailableTrue();
+
     /**
      * Finds available books in a specific category.
      *
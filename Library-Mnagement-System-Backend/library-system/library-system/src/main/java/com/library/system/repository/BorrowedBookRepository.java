@@ -3,7 +3,11 @@ package com.library.system.repository;
 import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.library.system.model.Book;
 import com.library.system.model.BorrowedBook;
@@ -33,6 +37,50 @@ public interface BorrowedBookRepository extends JpaRepository<BorrowedBook, Long
      */
     List<BorrowedBook> findByReturnDateAndReturned(LocalDate returnDate, boolean returned);
 
+    /**
+     * Finds the next page of user IDs that have unreturned books due within a date range
+     * and no reminder recorded yet, restricted to one user ID hash partition.
+     * Users are returned in ascending ID order so callers can page through them
+     * using the last seen ID as a keyset cursor.
+     *
+     * @param from the earliest due date (inclusive)
+     * @param to the latest due date (inclusive)
+     * @param afterUserId only user IDs greater than this are returned
+     * @param partition the partition index ({@code userId mod partitions})
+     * @param partitions the number of partitions
+     * @param pageable the page size to fetch
+     * @return a list of distinct user IDs
+     */
+    @Query("SELECT DISTINCT b.user.id FROM BorrowedBook b "
+            + "WHERE b.returned = false AND b.returnDate BETWEEN :from AND :to "
+            + "AND b.user.id > :afterUserId AND MOD(b.user.id, :partitions) = :partition "
+            + "AND NOT EXISTS (SELECT r.id FROM ReminderLog r WHERE r.borrowedBookId = b.id) "
+            + "ORDER BY b.user.id")
+    List<Long> findUserIdsDueForReminder(@Param("from") LocalDate from,
+                                         @Param("to") LocalDate to,
+                                         @Param("afterUserId") Long afterUserId,
+                                         @Param("partition") int partition,
+                                         @Param("partitions") int partitions,
+                                         Pageable pageable);
+
+    /**
+     * Finds unreturned books due within a date range for the given users that have
+     * no reminder recorded yet, fetching the user and book in the same query.
+     *
+     * @param userIds the users to load borrow records for
+     * @param from the earliest due date (inclusive)
+     * @param to the latest due date (inclusive)
+     * @return a list of borrow records ordered by user and due date
+     */
+    @Query("SELECT b FROM BorrowedBook b JOIN FETCH b.user JOIN FETCH b.book "
+            + "WHERE b.user.id IN :userIds "
+            + "AND b.returned = false AND b.returnDate BETWEEN :from AND :to "
+            + "AND NOT EXISTS (SELECT r.id FROM ReminderLog r WHERE r.borrowedBookId = b.id) "
+            + "ORDER BY b.user.id, b.returnDate, b.id")
+    List<BorrowedBook> findDueForReminderByUserIds(@Param("userIds") List<Long> userIds,
+                                                   @Param("from") LocalDate from,
+                                                   @Param("to") LocalDate to);
+
     /**
      * Finds all borrowed books that were returned and their return date is older than a given cutoff.
      *
@@ -41,12 +89,98 @@ public interface BorrowedBookRepository extends JpaRepository<BorrowedBook, Long
      */
     List<BorrowedBook> findByReturnedTrueAndReturnDateBefore(LocalDate cutoffDate);
 
+    /**
+     * Finds the next chunk of returned books older than a cutoff whose user falls
+     * in one user ID hash partition, in ascending ID order.
+     *
+     * @param cutoffDate the date before which returned books should be deleted
+     * @param afterId only records with a greater ID are returned
+     * @param partition the partition index ({@code userId mod partitions})
+     * @param partitions the number of partitions
+     * @param pageable the chunk size to fetch
+     * @return a list of old returned books in the partition
+     */
+    @Query("SELECT b FROM BorrowedBook b WHERE b.returned = true AND b.returnDate < :cutoffDate "
+            + "AND b.id > :afterId AND MOD(b.user.id, :partitions) = :partition ORDER BY b.id")
+    List<BorrowedBook> findReturnedBeforeInPartition(@Param("cutoffDate") LocalDate cutoffDate,
+                                                     @Param("afterId") Long afterId,
+                                                     @Param("partition") int partition,
+                                                     @Param("partitions") int partitions,
+                                                     Pageable pageable);
+
+    /**
+     * Finds the next chunk of unreturned, unpaid books that are overdue and whose user
+     * falls in one user ID hash partition, in ascending ID order.
+     *
+     * @param today the current date; books due before it are overdue
+     * @param afterId only records with a greater ID are returned
+     * @param partition the partition index ({@code userId mod partitions})
+     * @param partitions the number of partitions
+     * @param pageable the chunk size to fetch
+     * @return a list of overdue borrow records in the partition
+     */
+    @Query("SELECT b FROM BorrowedBook b WHERE b.returned = false AND b.finePaid = false "
+            + "AND b.returnDate < :today "
+            + "AND b.id > :afterId AND MOD(b.user.id, :partitions) = :partition ORDER BY b.id")
+    List<BorrowedBook> findOverdueInPartition(@Param("today") LocalDate today,
+                                              @Param("afterId") Long afterId,
+                                              @Param("partition") int partition,
+                                              @Param("partitions") int partitions,
+                                              Pageable pageable);
+
+    /**
+     * Sets the accrued fine of a borrow record that is still unreturned and unpaid.
+     * Only the fine column is written, so a return or payment committed since the
+     * record was read is left intact. Must be called inside a transaction.
+     *
+     * @param id the borrow record ID
+     * @param fine the fine to store
+     * @return 1 if the record was updated, 0 if it was returned or paid in the meantime
+     */
+    @Modifying
+    @Query("UPDATE BorrowedBook b SET b.accruedFine = :fine "
+            + "WHERE b.id = :id AND b.returned = false AND b.finePaid = false")
+    int updateAccruedFine(@Param("id") Long id, @Param("fine") int fine);
+
     /**
      * Counts the number of borrowed books that are not yet returned.
      *
      * @return the total count of currently borrowed books
      */
     long countByReturnedFalse();
+
+    /**
+     * Counts unreturned books whose return date is before the given date.
+     *
+     * @param date the current date; books due before it are overdue
+     * @return the number of overdue books
+     */
+    long countByReturnedFalseAndReturnDateBefore(LocalDate date);
+
+    /**
+     * Counts borrow records with the given borrow date.
+     *
+     * @param borrowDate the borrow date
+     * @return the number of books borrowed on that date
+     */
+    long countByBorrowDate(LocalDate borrowDate);
+
+    /**
+     * Counts books returned on the given date.
+     *
+     * @param returnedOn the date of return
+     * @return the number of books returned on that date
+     */
+    long countByReturnedOn(LocalDate returnedOn);
+
+    /**
+     * Sums the accrued fines of unreturned books whose fine is not paid.
+     *
+     * @return the total outstanding fine as of the last fine accrual
+     */
+    @Query("SELECT COALESCE(SUM(b.accruedFine), 0) FROM BorrowedBook b WHERE b.returned = false AND b.finePaid = false")
+    long sumOutstandingFines();
+
     boolean existsByUserAndBookAndReturnedFalse(User user, Book book);
 
 }
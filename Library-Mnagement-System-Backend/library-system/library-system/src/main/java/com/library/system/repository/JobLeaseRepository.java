@@ -0,0 +1,116 @@
+package com.library.system.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.library.system.model.JobLease;
+
+/**
+ * Repository interface for JobLease entity.
+ * All lease transitions are single conditional updates, so concurrent nodes
+ * can never both believe they own the same partition. Lease times are taken from
+ * the database clock, so nodes whose clocks drift apart still agree on expiry.
+ */
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Acquires a partition lease for a run if the run has not completed yet, has
+     * attempts left, and the lease is free or expired. Each acquisition counts as
+     * an attempt; starting a new run resets the count.
+     *
+     * @param name the lease key
+     * @param owner the node acquiring the lease
+     * @param runKey the run being started
+     * @param leaseSeconds how long the new lease lasts
+     * @param maxAttempts the maximum number of attempts per run
+     * @return 1 if the lease was acquired, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = :owner, "
+            + "l.attempts = CASE WHEN l.runKey = :runKey THEN l.attempts + 1 ELSE 1 END, "
+            + "l.runKey = :runKey, "
+            + "l.leaseUntil = LOCAL DATETIME + (:leaseSeconds) SECOND, l.heartbeatAt = LOCAL DATETIME "
+            + "WHERE l.name = :name "
+            + "AND (l.completedRunKey IS NULL OR l.completedRunKey <> :runKey) "
+            + "AND (l.runKey IS NULL OR l.runKey <> :runKey OR l.attempts < :maxAttempts) "
+            + "AND (l.owner IS NULL OR l.leaseUntil < LOCAL DATETIME)")
+    int tryAcquire(@Param("name") String name,
+                   @Param("owner") String owner,
+                   @Param("runKey") String runKey,
+                   @Param("leaseSeconds") long leaseSeconds,
+                   @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * Extends an unexpired lease held by the given node.
+     *
+     * @param name the lease key
+     * @param owner the node holding the lease
+     * @param leaseSeconds how long the lease lasts from now
+     * @return 1 if the lease is still held and was extended, 0 if it was lost
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.leaseUntil = LOCAL DATETIME + (:leaseSeconds) SECOND, "
+            + "l.heartbeatAt = LOCAL DATETIME "
+            + "WHERE l.name = :name AND l.owner = :owner AND l.leaseUntil >= LOCAL DATETIME")
+    int heartbeat(@Param("name") String name,
+                  @Param("owner") String owner,
+                  @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * Checks whether a node still holds an unexpired lease.
+     *
+     * @param name the lease key
+     * @param owner the node that acquired the lease
+     * @return true if the lease is held by the node and has not expired
+     */
+    @Query("SELECT COUNT(l) > 0 FROM JobLease l "
+            + "WHERE l.name = :name AND l.owner = :owner AND l.leaseUntil >= LOCAL DATETIME")
+    boolean isHeld(@Param("name") String name, @Param("owner") String owner);
+
+    /**
+     * Marks the run as completed on a partition and frees the lease.
+     *
+     * @param name the lease key
+     * @param owner the node holding the lease
+     * @param runKey the run that completed
+     * @return 1 if the lease was held and released, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.completedRunKey = :runKey, l.owner = null, l.leaseUntil = null "
+            + "WHERE l.name = :name AND l.owner = :owner")
+    int complete(@Param("name") String name, @Param("owner") String owner, @Param("runKey") String runKey);
+
+    /**
+     * Frees a lease without marking the run as completed, so it can be retried.
+     *
+     * @param name the lease key
+     * @param owner the node holding the lease
+     * @return 1 if the lease was held and released, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = null, l.leaseUntil = null WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner);
+
+    /**
+     * Finds partitions of a job whose current run was started but not completed,
+     * that have attempts left, and whose lease is free or expired.
+     *
+     * @param jobName the job name
+     * @param maxAttempts the maximum number of attempts per run
+     * @return the orphaned partitions
+     */
+    @Query("SELECT l FROM JobLease l WHERE l.jobName = :jobName AND l.runKey IS NOT NULL "
+            + "AND (l.completedRunKey IS NULL OR l.completedRunKey <> l.runKey) "
+            + "AND l.attempts < :maxAttempts "
+            + "AND (l.owner IS NULL OR l.leaseUntil < LOCAL DATETIME)")
+    List<JobLease> findOrphaned(@Param("jobName") String jobName, @Param("maxAttempts") int maxAttempts);
+}
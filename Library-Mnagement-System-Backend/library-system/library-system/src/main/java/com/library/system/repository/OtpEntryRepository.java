@@ -0,0 +1,53 @@
+package com.library.system.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.library.system.model.OtpEntry;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository interface for OtpEntry entity.
+ * Rows are locked while they are updated, so limits hold across nodes.
+ */
+public interface OtpEntryRepository extends JpaRepository<OtpEntry, String> {
+
+    /**
+     * Creates an empty row for a mobile number.
+     * Fails with a duplicate key error if the row already exists.
+     *
+     * @param mobile the mobile number
+     */
+    @Modifying
+    @Query(value = "INSERT INTO otp_entry (mobile, attempts, sends) VALUES (:mobile, 0, 0)", nativeQuery = true)
+    void insert(@Param("mobile") String mobile);
+
+    /**
+     * Loads the row for a mobile number and locks it until the transaction ends.
+     *
+     * @param mobile the mobile number
+     * @return the locked row, if present
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM OtpEntry o WHERE o.mobile = :mobile")
+    Optional<OtpEntry> findForUpdate(@Param("mobile") String mobile);
+
+    /**
+     * Deletes rows that no longer hold a live OTP or send window.
+     *
+     * @param now the current time
+     * @return number of deleted rows
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OtpEntry o WHERE o.purgeAt < :now")
+    int deletePurgeableBefore(@Param("now") LocalDateTime now);
+}
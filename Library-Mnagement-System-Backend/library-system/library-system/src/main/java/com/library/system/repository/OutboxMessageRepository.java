@@ -0,0 +1,78 @@
+package com.library.system.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.library.system.model.OutboxMessage;
+
+/**
+ * Repository interface for OutboxMessage entity.
+ * Provides claim and status-update queries used by the outbox relay.
+ */
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Locks the next batch of messages that are ready to be claimed.
+     * Rows locked by another relay are skipped rather than waited on,
+     * so several instances can poll concurrently. Must run in a transaction.
+     *
+     * @param now the current time
+     * @param limit the maximum number of messages to lock
+     * @return the locked messages
+     */
+    @Query(value = "SELECT * FROM outbox_message "
+            + "WHERE status IN ('Pending', 'Processing') AND available_at <= :now "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxMessage> lockNextBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Marks a claimed message as sent, provided the claim is still held by the given node.
+     *
+     * @param id the message ID
+     * @param claimedBy the node that dispatched the message
+     * @param sentAt the delivery time
+     * @return the number of rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = 'Sent', m.sentAt = :sentAt, m.lastError = null "
+            + "WHERE m.id = :id AND m.claimedBy = :claimedBy")
+    int markSent(@Param("id") Long id, @Param("claimedBy") String claimedBy, @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * Records a failed delivery attempt, provided the claim is still held by the given node.
+     *
+     * @param id the message ID
+     * @param claimedBy the node that dispatched the message
+     * @param status the new status ("Pending" to retry, "Failed" to give up)
+     * @param availableAt the earliest time of the next attempt
+     * @param lastError the delivery error
+     * @return the number of rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = :status, m.availableAt = :availableAt, m.lastError = :lastError "
+            + "WHERE m.id = :id AND m.claimedBy = :claimedBy")
+    int markAttemptFailed(@Param("id") Long id,
+                          @Param("claimedBy") String claimedBy,
+                          @Param("status") String status,
+                          @Param("availableAt") LocalDateTime availableAt,
+                          @Param("lastError") String lastError);
+
+    /**
+     * Deletes delivered messages sent before the given time.
+     *
+     * @param cutoff the time before which sent messages are deleted
+     * @return the number of rows deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.status = 'Sent' AND m.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
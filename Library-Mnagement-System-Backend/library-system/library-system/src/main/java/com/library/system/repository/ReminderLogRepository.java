@@ -0,0 +1,40 @@
+package com.library.system.repository;
+
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.library.system.model.ReminderLog;
+
+/**
+ * Repository interface for ReminderLog entity.
+ * Provides CRUD operations for sent reminder records.
+ */
+public interface ReminderLogRepository extends JpaRepository<ReminderLog, Long> {
+
+    /**
+     * Deletes the reminder records of the given borrow records.
+     * Must be called inside a transaction.
+     *
+     * @param borrowedBookIds the borrow record IDs
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM ReminderLog r WHERE r.borrowedBookId IN :borrowedBookIds")
+    int deleteByBorrowedBookIds(@Param("borrowedBookIds") Collection<Long> borrowedBookIds);
+
+    /**
+     * Deletes reminder records whose borrow record no longer exists.
+     *
+     * @return number of deleted rows
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ReminderLog r WHERE NOT EXISTS "
+            + "(SELECT b.id FROM BorrowedBook b WHERE b.id = r.borrowedBookId)")
+    int deleteOrphaned();
+}
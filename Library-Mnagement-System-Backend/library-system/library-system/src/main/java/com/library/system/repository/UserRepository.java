@@ -1,13 +1,26 @@
 package com.library.system.repository;
 
+import com.library.system.cache.SecondLevelCacheConfig;
 import com.library.system.model.User;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository interface for User entity.
  * Provides basic CRUD operations and custom user queries.
+ * Lookups by email and mobile are served from the query cache. Hibernate invalidates
+ * it when users are written through JPA; writes that bypass Hibernate (the JDBC batch
+ * insert in {@code UserImportService}) evict the query regions themselves.
  */
 public interface UserRepository extends JpaRepository<User, Long> {
 
@@ -17,6 +30,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param email the user's email
      * @return an Optional containing the User if found
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.USER_LOOKUP_REGION)
+    })
     Optional<User> findByEmail(String email);
 
     /**
@@ -33,6 +50,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param mobile the user's mobile number
      * @return an Optional containing the User if found
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.USER_LOOKUP_REGION)
+    })
     Optional<User> findByMobile(String mobile);
 
     /**
@@ -50,4 +71,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if at least one user has that role
      */
     boolean existsByRole(String role);
+
+    /**
+     * Finds which of the given emails are already registered.
+     *
+     * @param emails the emails to check
+     * @return the registered emails among them
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Finds which of the given mobile numbers are already registered.
+     *
+     * @param mobiles the mobile numbers to check
+     * @return the registered mobile numbers among them
+     */
+    @Query("SELECT u.mobile FROM User u WHERE u.mobile IN :mobiles")
+    List<String> findExistingMobiles(@Param("mobiles") Collection<String> mobiles);
 }
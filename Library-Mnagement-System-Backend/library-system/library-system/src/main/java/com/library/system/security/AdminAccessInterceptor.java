@@ -0,0 +1,47 @@
+package com.library.system.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+
+/**
+ * Restricts the handlers it is registered for to admins.
+ *
+ * Requests without a valid token get 401 and requests from other roles get 403,
+ * with the same messages as {@code UserController.importUsers}. CORS preflight
+ * requests, which never carry a token, are let through to the CORS handling.
+ */
+@Component
+public class AdminAccessInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!(handler instanceof HandlerMethod) || CorsUtils.isPreFlightRequest(request)) {
+            return true;
+        }
+        AuthenticatedUser principal = AuthenticatedUser.from(request);
+        if (principal == null) {
+            reject(response, HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired token");
+            return false;
+        }
+        if (!principal.isAdmin()) {
+            reject(response, HttpServletResponse.SC_FORBIDDEN, "Admin access required");
+            return false;
+        }
+        return true;
+    }
+
+    private static void reject(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+}
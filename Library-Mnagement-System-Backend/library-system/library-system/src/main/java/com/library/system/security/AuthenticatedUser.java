@@ -0,0 +1,38 @@
+package com.library.system.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Immutable principal of an authenticated request, resolved once per request
+ * by {@link JwtAuthenticationFilter}.
+ *
+ * @param id the user ID
+ * @param email the user's email
+ * @param role the user's role (e.g., "user" or "admin")
+ */
+public record AuthenticatedUser(Long id, String email, String role) {
+
+    /**
+     * Request attribute under which the principal is stored.
+     */
+    public static final String REQUEST_ATTRIBUTE = AuthenticatedUser.class.getName();
+
+    /**
+     * Checks if the user has the admin role.
+     *
+     * @return true if the user is an admin
+     */
+    public boolean isAdmin() {
+        return "admin".equalsIgnoreCase(role);
+    }
+
+    /**
+     * Gets the principal of the given request.
+     *
+     * @param request the current request
+     * @return the principal, or null if the request is not authenticated
+     */
+    public static AuthenticatedUser from(HttpServletRequest request) {
+        return (AuthenticatedUser) request.getAttribute(REQUEST_ATTRIBUTE);
+    }
+}
@@ -0,0 +1,67 @@
+package com.library.system.security;
+
+import com.library.system.util.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Servlet filter that authenticates requests carrying a Bearer token.
+ *
+ * The token is parsed once, and the principal is taken from its {@code id} and
+ * {@code role} claims, or from {@link PrincipalCache} for older tokens without
+ * them. The resulting {@link AuthenticatedUser} is stored as a request attribute
+ * so controllers never parse the header or query the user table for it again.
+ * Requests without a valid token continue unauthenticated.
+ */
+@Component
+@Order(JwtAuthenticationFilter.ORDER)
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 20;
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+    private final PrincipalCache principalCache;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, PrincipalCache principalCache) {
+        this.jwtUtil = jwtUtil;
+        this.principalCache = principalCache;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            jwtUtil.parseClaims(header.substring(BEARER_PREFIX.length()))
+                    .flatMap(this::toPrincipal)
+                    .ifPresent(principal -> request.setAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE, principal));
+        }
+        chain.doFilter(request, response);
+    }
+
+    private Optional<AuthenticatedUser> toPrincipal(Claims claims) {
+        String email = claims.getSubject();
+        Number id = claims.get(JwtUtil.CLAIM_USER_ID, Number.class);
+        String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+        if (id != null && role != null) {
+            return Optional.of(new AuthenticatedUser(id.longValue(), email, role));
+        }
+        return email == null ? Optional.empty() : principalCache.resolve(email);
+    }
+}
@@ -0,0 +1,171 @@
+package com.library.system.security;
+
+import com.library.system.exception.ServiceOverloadedException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt hashing and verification on a dedicated pool sized to the CPU cores,
+ * so login spikes cannot starve request threads serving other endpoints.
+ *
+ * The pool has a bounded queue; when it is full, new work is rejected immediately
+ * with a {@link ServiceOverloadedException} instead of queueing behind the spike.
+ * Queue wait and hash time are recorded for every task and exported as metrics.
+ */
+@Component
+public class PasswordHashingService implements MeterBinder {
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+
+    public PasswordHashingService(BCryptPasswordEncoder passwordEncoder,
+                                  @Value("${security.bcrypt.threads:0}") int threads,
+                                  @Value("${security.bcrypt.queue-capacity:64}") int queueCapacity,
+                                  @Value("${security.bcrypt.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfterSeconds = retryAfterSeconds;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Verifies a raw password against a BCrypt hash on the hashing pool.
+     *
+     * @param rawPassword the password entered by the user
+     * @param encodedPassword the stored hash
+     * @return a future completed with true if the password matches
+     * @throws ServiceOverloadedException if the hashing queue is full
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> encodedPassword != null && passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hashes a raw password on the hashing pool using the configured work factor.
+     *
+     * @param rawPassword the password to hash
+     * @return a future completed with the hash
+     * @throws ServiceOverloadedException if the hashing queue is full
+     */
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks if a hash was created with a lower work factor than the configured one.
+     *
+     * @param encodedPassword the stored hash
+     * @return true if the password should be rehashed
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Gets hashing pool statistics since startup.
+     *
+     * @return the current statistics
+     */
+    public HashingStats getStats() {
+        long count = completed.sum();
+        return new HashingStats(
+                count,
+                rejected.sum(),
+                executor.getQueue().size(),
+                executor.getActiveCount(),
+                count == 0 ? 0 : hashNanos.sum() / 1_000_000.0 / count,
+                count == 0 ? 0 : queueWaitNanos.sum() / 1_000_000.0 / count);
+    }
+
+    /**
+     * Exports the pool statistics as {@code library.bcrypt.*} metrics.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("library.bcrypt.rejected", rejected, LongAdder::sum)
+                .description("Hash operations shed because the queue was full")
+                .register(registry);
+        Gauge.builder("library.bcrypt.queued", executor, pool -> pool.getQueue().size())
+                .register(registry);
+        Gauge.builder("library.bcrypt.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+        FunctionTimer.builder("library.bcrypt.hash", this,
+                        service -> service.completed.sum(), service -> service.hashNanos.sum(), TimeUnit.NANOSECONDS)
+                .register(registry);
+        FunctionTimer.builder("library.bcrypt.queue.wait", this,
+                        service -> service.completed.sum(), service -> service.queueWaitNanos.sum(), TimeUnit.NANOSECONDS)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitNanos.add(startedAt - submittedAt);
+                try {
+                    return task.get();
+                } finally {
+                    hashNanos.add(System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            }, executor);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ServiceOverloadedException("Too many login attempts in progress. Please retry shortly.",
+                    retryAfterSeconds);
+        }
+    }
+
+    /**
+     * Hashing pool statistics.
+     *
+     * @param completed number of hash operations completed
+     * @param rejected number of hash operations shed because the queue was full
+     * @param queued number of operations currently waiting
+     * @param active number of operations currently running
+     * @param avgHashMs average time spent hashing, in milliseconds
+     * @param avgQueueWaitMs average time spent waiting for a thread, in milliseconds
+     */
+    public record HashingStats(long completed, long rejected, int queued, int active,
+                               double avgHashMs, double avgQueueWaitMs) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.library.system.security;
+
+import com.library.system.repository.UserRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of principals by email, used for tokens that do not carry
+ * the user ID and role as claims (tokens issued before those claims were added).
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Map<String, Entry> principals = new ConcurrentHashMap<>();
+
+    @Value("${auth.principal-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${auth.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    public PrincipalCache(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Resolves the principal for an email, loading the user at most once per TTL.
+     *
+     * @param email the user's email
+     * @return the principal, or empty if no such user exists
+     */
+    public Optional<AuthenticatedUser> resolve(String email) {
+        long now = System.currentTimeMillis();
+        Entry entry = principals.get(email);
+        if (entry != null && entry.expiresAt() > now) {
+            return Optional.of(entry.principal());
+        }
+
+        Optional<AuthenticatedUser> principal = userRepository.findByEmail(email)
+                .map(user -> new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole()));
+        if (principal.isPresent()) {
+            if (principals.size() >= maxSize) {
+                principals.values().removeIf(cached -> cached.expiresAt() <= now);
+                if (principals.size() >= maxSize) {
+                    principals.clear();
+                }
+            }
+            principals.put(email, new Entry(principal.get(), now + ttlSeconds * 1000));
+        } else {
+            principals.remove(email);
+        }
+        return principal;
+    }
+
+    private record Entry(AuthenticatedUser principal, long expiresAt) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.library.system.service;
 
+import com.library.system.dto.BookResponse;
 import com.library.system.model.Book;
 
 import java.util.List;
@@ -8,6 +9,7 @@ import java.util.Optional;
 /**
  * Service interface for managing books in the Library Management System.
  * Handles operations like adding, retrieving, filtering, and counting books.
+ * Books are returned as {@link BookResponse}s, mapped inside the read transaction.
  */
 public interface BookService {
 
@@ -17,7 +19,7 @@ public interface BookService {
      * @param book the book to be added
      * @return the saved book
      */
-    Book addBook(Book book);
+    BookResponse addBook(Book book);
 
     /**
      * Deletes a book by its ID.
@@ -32,21 +34,21 @@ public interface BookService {
      * @param id the ID of the book
      * @return an Optional containing the book if found
      */
-    Optional<Book> getBookById(Long id);
+    Optional<BookResponse> getBookById(Long id);
 
     /**
      * Retrieves all books from the system.
      *
      * @return list of all books
      */
-    List<Book> getAllBooks();
+    List<BookResponse> getAllBooks();
 
     /**
      * Retrieves all books that are available to be borrowed.
      *
      * @return list of available books
      */
-    List<Book> getAvailableBooks();
+    List<BookResponse> getAvailableBooks();
 
     /**
      * Retrieves books by category.
@@ -54,7 +56,7 @@ public interface BookService {
      * @param category the category to filter by
      * @return list of books in the given category
      */
-    List<Book> getBooksByCategory(String category);
+    List<BookResponse> getBooksByCategory(String category);
 
     /**
      * Retrieves only available books in the given category.
@@ -62,7 +64,7 @@ public interface BookService {
      * @param category the category to filter by
      * @return list of available books in that category
      */
-    List<Book> getAvailableBooksByCategory(String category);
+    List<BookResponse> getAvailableBooksByCategory(String category);
 
     /**
      * Gets the total number of books in the system.
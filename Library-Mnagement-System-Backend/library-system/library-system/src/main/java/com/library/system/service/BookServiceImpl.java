@@ -1,8 +1,12 @@
 package com.library.system.service;
 
+import com.library.system.dto.BookResponse;
+import com.library.system.events.LibraryEventPublisher;
 import com.library.system.model.Book;
 import com.library.system.repository.BookRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,12 +16,15 @@ import java.util.Optional;
  * adding, deleting, fetching, and filtering books by category or availability.
  */
 @Service
+@Timed("library.service")
 public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository;
+    private final LibraryEventPublisher eventPublisher;
 
-    public BookServiceImpl(BookRepository bookRepository) {
+    public BookServiceImpl(BookRepository bookRepository, LibraryEventPublisher eventPublisher) {
         this.bookRepository = bookRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -27,8 +34,11 @@ public class BookServiceImpl implements BookService {
      * @return the saved book
      */
     @Override
-    public Book addBook(Book book) {
-        return bookRepository.save(book);
+    @Transactional
+    public BookResponse addBook(Book book) {
+        Book saved = bookRepository.save(book);
+        eventPublisher.bookAdded(saved);
+        return BookResponse.from(saved);
     }
 
     /**
@@ -37,8 +47,9 @@ public class BookServiceImpl implements BookService {
      * @return list of all books
      */
     @Override
-    public List<Book> getAllBooks() {
-        return bookRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<BookResponse> getAllBooks() {
+        return toResponses(bookRepository.findAll());
     }
 
     /**
@@ -47,8 +58,9 @@ public class BookServiceImpl implements BookService {
      * @return list of available books
      */
     @Override
-    public List<Book> getAvailableBooks() {
-        return bookRepository.findByAvailableCopiesGreaterThan(0);  // ✅ new
+    @Transactional(readOnly = true)
+    public List<BookResponse> getAvailableBooks() {
+        return toResponses(bookRepository.findByAvailableCopiesGreaterThan(0));  // ✅ new
     }
 
     /**
@@ -58,8 +70,9 @@ public class BookServiceImpl implements BookService {
      * @return list of books in the category
      */
     @Override
-    public List<Book> getBooksByCategory(String category) {
-        return bookRepository.findByCategory(category);
+    @Transactional(readOnly = true)
+    public List<BookResponse> getBooksByCategory(String category) {
+        return toResponses(bookRepository.findByCategory(category));
     }
 
     /**
@@ -69,8 +82,9 @@ public class BookServiceImpl implements BookService {
      * @return list of available books in the category
      */
     @Override
-    public List<Book> getAvailableBooksByCategory(String category) {
-        return bookRepository.findByCategoryAndAvailableTrue(category);
+    @Transactional(readOnly = true)
+    public List<BookResponse> getAvailableBooksByCategory(String category) {
+        return toResponses(bookRepository.findByCategoryAndAvailableTrue(category));
     }
 
     /**
@@ -79,8 +93,12 @@ public class BookServiceImpl implements BookService {
      * @param id the ID of the book to delete
      */
     @Override
+    @Transactional
     public void deleteBook(Long id) {
-        bookRepository.deleteById(id);
+        bookRepository.findById(id).ifPresent(book -> {
+            bookRepository.delete(book);
+            eventPublisher.bookDeleted(book);
+        });
     }
 
     /**
@@ -89,6 +107,7 @@ public class BookServiceImpl implements BookService {
      * @return number of books
      */
     @Override
+    @Transactional(readOnly = true)
     public long getBookCount() {
         return bookRepository.count();
     }
@@ -99,8 +118,9 @@ public class BookServiceImpl implements BookService {
      * @return number of available books
      */
     @Override
+    @Transactional(readOnly = true)
     public long getAvailableBookCount() {
-        return bookRepository.findByAvailableTrue().size();
+        return bookRepository.countByAvailableTrue();
     }
 
     /**
@@ -110,8 +130,9 @@ public class BookServiceImpl implements BookService {
      * @return optional book object
      */
     @Override
-    public Optional<Book> getBookById(Long id) {
-        return bookRepository.findById(id);
+    @Transactional(readOnly = true)
+    public Optional<BookResponse> getBookById(Long id) {
+        return bookRepository.findById(id).map(BookResponse::from);
     }
 
     /**
@@ -120,7 +141,12 @@ public class BookServiceImpl implements BookService {
      * @return list of categories
      */
     @Override
+    @Transactional(readOnly = true)
     public List<String> getAllCategories() {
         return bookRepository.findDistinctCategories();
     }
+
+    private static List<BookResponse> toResponses(List<Book> books) {
+        return books.stream().map(BookResponse::from).toList();
+    }
 }
@@ -1,27 +1,59 @@
 package com.library.system.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.library.system.batch.BatchJobRunner;
+import com.library.system.batch.BatchStep;
+import com.library.system.batch.ItemReader;
 import com.library.system.model.BorrowedBook;
 import com.library.system.repository.BorrowedBookRepository;
+import com.library.system.repository.ReminderLogRepository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.BooleanSupplier;
 
 /**
  * Service responsible for cleaning up returned borrowed book records
  * that are older than a specific number of days (e.g., 2 days).
  *
  * This helps keep the database clean by removing unnecessary old records.
+ * Runs are coordinated through {@link ClusterJobCoordinator}, so each
+ * user ID hash partition is cleaned by exactly one node, and records are
+ * deleted in checkpointed chunks by the {@link BatchJobRunner}. Each chunk
+ * deletes the records' reminder log rows in the same transaction.
  */
 @Service
-public class BorrowedBookCleanupService {
+public class BorrowedBookCleanupService implements ClusterJob {
 
     @Autowired
     private BorrowedBookRepository borrowedBookRepository;
 
+    @Autowired
+    private ReminderLogRepository reminderLogRepository;
+
+    @Autowired
+    private ClusterJobCoordinator clusterJobCoordinator;
+
+    @Autowired
+    private BatchJobRunner batchJobRunner;
+
+    /**
+     * Number of user ID hash partitions the cleanup is split into.
+     */
+    @Value("${cleanup.partitions:4}")
+    private int partitions;
+
+    /**
+     * Number of records deleted per chunk.
+     */
+    @Value("${batch.chunk-size:200}")
+    private int chunkSize;
+
     /**
      * Deletes all returned borrowed book records that were returned
      * more than 2 days ago.
@@ -31,18 +63,52 @@ public class BorrowedBookCleanupService {
      */
     @Scheduled(cron = "0 0 0 * * ?") // Runs daily at 00:00 AM
     public void deleteOldReturnedBooks() {
-        LocalDate cutoffDate = LocalDate.now().minusDays(2);
-
-        // Fetch all books that are returned and whose return date is older than cutoff
-        List<BorrowedBook> oldReturnedBooks = borrowedBookRepository
-            .findByReturnedTrueAndReturnDateBefore(cutoffDate);
-
-        // If any such books are found, delete them
-        if (oldReturnedBooks != null && !oldReturnedBooks.isEmpty()) {
-            borrowedBookRepository.deleteAll(oldReturnedBooks);
-            System.out.println("✅ Deleted returned books older than 2 days: " + oldReturnedBooks.size());
-        } else {
-            System.out.println("ℹ️ No returned books found older than 2 days.");
-        }
+        clusterJobCoordinator.trigger(this, LocalDate.now().toString());
+        // Reminder rows of records deleted before they were removed together
+        reminderLogRepository.deleteOrphaned();
+    }
+
+    @Override
+    public String getJobName() {
+        return "borrowed-book-cleanup";
+    }
+
+    @Override
+    public int getPartitionCount() {
+        return partitions;
+    }
+
+    /**
+     * Deletes old returned records for one partition. The run key is the run date.
+     */
+    @Override
+    public void runPartition(String runKey, int partition, int partitionCount, BooleanSupplier leaseHeld) {
+        LocalDate cutoffDate = LocalDate.parse(runKey).minusDays(2);
+
+        // Fetch returned books whose return date is older than cutoff, one chunk at a time
+        ItemReader<BorrowedBook> reader = new ItemReader<>() {
+            @Override
+            public List<BorrowedBook> read(long afterKey, int size) {
+                return borrowedBookRepository.findReturnedBeforeInPartition(
+                        cutoffDate, afterKey, partition, partitionCount, PageRequest.of(0, size));
+            }
+
+            @Override
+            public long keyOf(BorrowedBook item) {
+                return item.getId();
+            }
+        };
+
+        batchJobRunner.run(new BatchStep<BorrowedBook, BorrowedBook>(
+                getJobName() + "#" + partition, reader, book -> book,
+                this::delete, chunkSize), runKey, leaseHeld);
+    }
+
+    /**
+     * Deletes a chunk of records and their reminder log rows.
+     */
+    private void delete(List<BorrowedBook> borrowedBooks) {
+        reminderLogRepository.deleteByBorrowedBookIds(borrowedBooks.stream().map(BorrowedBook::getId).toList());
+        borrowedBookRepository.deleteAllInBatch(borrowedBooks);
     }
 }
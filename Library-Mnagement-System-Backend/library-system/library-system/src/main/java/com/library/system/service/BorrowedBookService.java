@@ -1,11 +1,12 @@
 package com.library.system.service;
 
+import com.library.system.dto.BorrowedBookResponse;
 import com.library.system.model.BorrowedBook;
 import java.util.List;
 
 public interface BorrowedBookService {
 
-    BorrowedBook borrowBook(Long userId, Long bookId, BorrowedBook bookData);
+    BorrowedBookResponse borrowBook(Long userId, Long bookId, BorrowedBook bookData);
 
     BorrowedBook returnBook(Long borrowId);
 
@@ -13,6 +14,14 @@ public interface BorrowedBookService {
 
     List<BorrowedBook> getBorrowedBooksByUser(Long userId);
 
+    /**
+     * Retrieves all borrow records of a user, mapped for the response.
+     *
+     * @param userId the ID of the user
+     * @return the user's borrow records
+     */
+    List<BorrowedBookResponse> getBorrowRecordsByUser(Long userId);
+
     BorrowedBook getBorrowById(Long borrowId);
 
     long getBorrowedBookCount();
@@ -1,12 +1,19 @@
 package com.library.system.service;
 
+import com.library.system.dto.BorrowedBookResponse;
+import com.library.system.events.LibraryEventPublisher;
 import com.library.system.model.Book;
 import com.library.system.model.BorrowedBook;
 import com.library.system.model.User;
 import com.library.system.repository.BookRepository;
 import com.library.system.repository.BorrowedBookRepository;
 import com.library.system.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -14,21 +21,31 @@ import java.util.List;
 /**
  * Service implementation for managing book borrowing and returning,
  * fine calculation, and user borrow eligibility.
+ *
+ * Books may come from the second-level cache, so inventory updates re-read
+ * the book row under a lock before changing its copy counts.
  */
 @Service
+@Timed("library.service")
 public class BorrowedBookServiceImpl implements BorrowedBookService {
 
     private final BorrowedBookRepository borrowedBookRepository;
     private final UserRepository userRepository;
     private final BookRepository bookRepository;
+    private final LibraryEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public BorrowedBookServiceImpl(
             BorrowedBookRepository borrowedBookRepository,
             UserRepository userRepository,
-            BookRepository bookRepository) {
+            BookRepository bookRepository,
+            LibraryEventPublisher eventPublisher) {
         this.borrowedBookRepository = borrowedBookRepository;
         this.userRepository = userRepository;
         this.bookRepository = bookRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -37,11 +54,12 @@ public class BorrowedBookServiceImpl implements BorrowedBookService {
      * @param userId the ID of the user borrowing the book
      * @param bookId the ID of the book to borrow
      * @param bookData contains borrow and return dates
-     * @return the saved BorrowedBook record
+     * @return the saved borrow record
      * @throws RuntimeException if user not eligible, book unavailable, or already borrowed
      */
     @Override
-    public BorrowedBook borrowBook(Long userId, Long bookId, BorrowedBook bookData) {
+    @Transactional
+    public BorrowedBookResponse borrowBook(Long userId, Long bookId, BorrowedBook bookData) {
         boolean canBorrow = canUserBorrow(userId);
         if (!canBorrow) {
             throw new RuntimeException("You have overdue books. Return them before borrowing new ones.");
@@ -49,8 +67,8 @@ public class BorrowedBookServiceImpl implements BorrowedBookService {
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new RuntimeException("Book not found"));
+        Book book = lockForUpdate(bookRepository.findById(bookId)
+                .orElseThrow(() -> new RuntimeException("Book not found")));
 
         if (book.getAvailableCopies() <= 0) {
             throw new RuntimeException("No copies available for this book.");
@@ -73,7 +91,9 @@ public class BorrowedBookServiceImpl implements BorrowedBookService {
         book.setAvailable(book.getAvailableCopies() > 0);
 
         bookRepository.save(book);
-        return borrowedBookRepository.save(borrowed);
+        BorrowedBook saved = borrowedBookRepository.save(borrowed);
+        eventPublisher.bookBorrowed(saved, book);
+        return BorrowedBookResponse.from(saved);
     }
 
     /**
@@ -84,12 +104,26 @@ public class BorrowedBookServiceImpl implements BorrowedBookService {
      * @throws RuntimeException if user not found
      */
     @Override
+    @Transactional(readOnly = true)
     public List<BorrowedBook> getBorrowedBooksByUser(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         return borrowedBookRepository.findByUser(user);
     }
 
+    /**
+     * Retrieves all borrow records of a user, mapped inside the read transaction.
+     *
+     * @param userId the user ID
+     * @return list of borrow records
+     * @throws RuntimeException if user not found
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<BorrowedBookResponse> getBorrowRecordsByUser(Long userId) {
+        return getBorrowedBooksByUser(userId).stream().map(BorrowedBookResponse::from).toList();
+    }
+
     /**
      * Processes the return of a borrowed book and updates records.
      *
@@ -98,6 +132,7 @@ public class BorrowedBookServiceImpl implements BorrowedBookService {
      * @throws RuntimeException if borrow record not found
      */
     @Override
+    @Transactional
     public BorrowedBook returnBook(Long borrowId) {
         BorrowedBook borrowedBook = borrowedBookRepository.findById(borrowId)
                 .orElseThrow(() -> new RuntimeException("Borrow record not found"));
@@ -106,13 +141,15 @@ public class BorrowedBookServiceImpl implements BorrowedBookService {
         LocalDate borrowDate = borrowedBook.getBorrowDate();
         LocalDate returnDate = borrowedBook.getReturnDate();
 
-        Book book = borrowedBook.getBook();
+        Book book = lockForUpdate(borrowedBook.getBook());
+        eventPublisher.bookReturned(borrowedBook, book);
 
         book.setAvailableCopies(book.getAvailableCopies() + 1);
         book.setAvailable(true);
 
         bookRepository.save(book);
         borrowedBook.setReturned(true);
+        borrowedBook.setReturnedOn(today);
 
         if (borrowDate != null && borrowDate.isAfter(today)) {
             borrowedBook.setStatus("Borrow Cancelled");
@@ -133,6 +170,7 @@ public class BorrowedBookServiceImpl implements BorrowedBookService {
      * @throws RuntimeException if user not found
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean canUserBorrow(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -157,6 +195,7 @@ public class BorrowedBookServiceImpl implements BorrowedBookService {
      * @return count of currently borrowed books
      */
     @Override
+    @Transactional(readOnly = true)
     public long getBorrowedBookCount() {
         return borrowedBookRepository.countByReturnedFalse();
     }
@@ -192,6 +231,7 @@ public class BorrowedBookServiceImpl implements BorrowedBookService {
      * @throws RuntimeException if borrow record not found
      */
     @Override
+    @Transactional(readOnly = true)
     public BorrowedBook getBorrowById(Long borrowId) {
         return borrowedBookRepository.findById(borrowId)
                 .orElseThrow(() -> new RuntimeException("Borrow record not found"));
@@ -204,6 +244,7 @@ public class BorrowedBookServiceImpl implements BorrowedBookService {
      * @return total unpaid fine
      */
     @Override
+    @Transactional(readOnly = true)
     public int getTotalUnpaidFineForUser(Long userId) {
         List<BorrowedBook> books = getBorrowedBooksByUser(userId);
         int totalFine = 0;
@@ -229,6 +270,7 @@ public class BorrowedBookServiceImpl implements BorrowedBookService {
      * @throws RuntimeException if user or book not found
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean hasUserAlreadyBorrowedBook(Long userId, Long bookId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -237,4 +279,16 @@ public class BorrowedBookServiceImpl implements BorrowedBookService {
 
         return borrowedBookRepository.existsByUserAndBookAndReturnedFalse(user, book);
     }
+
+    /**
+     * Re-reads a book from the database with a row lock held until the transaction ends,
+     * so concurrent borrows and returns never start from a cached or stale copy count.
+     *
+     * @param book the managed book
+     * @return the same book, refreshed and locked
+     */
+    private Book lockForUpdate(Book book) {
+        entityManager.refresh(book, LockModeType.PESSIMISTIC_WRITE);
+        return book;
+    }
 }
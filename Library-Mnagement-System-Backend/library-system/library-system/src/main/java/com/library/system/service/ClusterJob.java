@@ -0,0 +1,37 @@
+package com.library.system.service;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * A scheduled job that runs once per run key across all application instances.
+ * The job is split into partitions by user ID hash, and each partition is
+ * claimed and executed by exactly one node.
+ */
+public interface ClusterJob {
+
+    /**
+     * Gets the unique name of the job.
+     *
+     * @return the job name
+     */
+    String getJobName();
+
+    /**
+     * Gets the number of partitions the job is split into.
+     *
+     * @return the partition count (at least 1)
+     */
+    int getPartitionCount();
+
+    /**
+     * Executes one partition of a run. Must be safe to re-run, since a partition
+     * is retried by another node if its owner dies before completing it.
+     *
+     * @param runKey the run being executed (e.g. the run date)
+     * @param partition the partition index, from 0 to partitionCount - 1
+     * @param partitionCount the number of partitions
+     * @param leaseHeld whether this node still holds the partition's lease; check it
+     *                  between chunks and stop once it returns false
+     */
+    void runPartition(String runKey, int partition, int partitionCount, BooleanSupplier leaseHeld);
+}
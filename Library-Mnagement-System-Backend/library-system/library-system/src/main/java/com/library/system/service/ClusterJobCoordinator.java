@@ -0,0 +1,202 @@
+package com.library.system.service;
+
+import com.library.system.config.NodeIdentity;
+import com.library.system.model.JobLease;
+import com.library.system.repository.JobLeaseRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordinates {@link ClusterJob} runs across application instances using
+ * leases stored in the {@code job_lease} table.
+ *
+ * When a job is triggered, every node walks the job's partitions and tries to
+ * lease each one for the run; a partition is executed only by the node that
+ * wins its lease, and only once per run key. While a partition runs, its lease
+ * is renewed by a heartbeat, and the job checks between chunks that the lease
+ * is still held, stopping once it is lost. If the owner dies, the lease expires
+ * and the periodic takeover sweep on any surviving node resumes the partition.
+ * A partition is started at most {@code jobs.partition.max-attempts} times per
+ * run; after that it is left for the next run. Lease times use the database
+ * clock. Partition run times are recorded as the {@code library.job.partition} timer.
+ */
+@Component
+public class ClusterJobCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterJobCoordinator.class);
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final ObjectProvider<ClusterJob> jobs;
+    private final String nodeId;
+    private final MeterRegistry meterRegistry;
+
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${jobs.lease.seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${jobs.lease.heartbeat-seconds:20}")
+    private long heartbeatSeconds;
+
+    @Value("${jobs.partition.max-attempts:3}")
+    private int maxAttempts;
+
+    public ClusterJobCoordinator(JobLeaseRepository jobLeaseRepository,
+                                 ObjectProvider<ClusterJob> jobs,
+                                 NodeIdentity nodeIdentity,
+                                 MeterRegistry meterRegistry) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.jobs = jobs;
+        this.nodeId = nodeIdentity.getNodeId();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs every partition of the job for the given run key that this node can lease.
+     * Partitions leased by other nodes, or already completed for this run, are skipped.
+     *
+     * @param job the job to run
+     * @param runKey the run identifier (e.g. the run date)
+     */
+    public void trigger(ClusterJob job, String runKey) {
+        int partitionCount = Math.max(1, job.getPartitionCount());
+        // Start at a node-specific offset so nodes spread over partitions instead of racing for the same one
+        int offset = Math.floorMod(nodeId.hashCode(), partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            int partition = (offset + i) % partitionCount;
+            String leaseName = leaseName(job.getJobName(), partition);
+            ensureLeaseExists(leaseName, job.getJobName(), partition, partitionCount);
+            runIfAcquired(job, leaseName, runKey, partition, partitionCount);
+        }
+    }
+
+    /**
+     * Resumes partitions whose run was started but whose owner stopped heartbeating.
+     */
+    @Scheduled(initialDelayString = "${scheduling.startup-delay-ms:0}",
+            fixedDelayString = "${jobs.lease.takeover-interval-ms:30000}")
+    public void takeOverOrphanedPartitions() {
+        for (ClusterJob job : jobs) {
+            List<JobLease> orphaned = jobLeaseRepository.findOrphaned(job.getJobName(), maxAttempts);
+            for (JobLease lease : orphaned) {
+                log.info("Taking over partition {} of job {} for run {}",
+                        lease.getPartitionIndex(), job.getJobName(), lease.getRunKey());
+                runIfAcquired(job, lease.getName(), lease.getRunKey(),
+                        lease.getPartitionIndex(), lease.getPartitionCount());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+    }
+
+    /**
+     * Leases one partition and, if successful, runs it while heartbeating.
+     */
+    private void runIfAcquired(ClusterJob job, String leaseName, String runKey, int partition, int partitionCount) {
+        if (jobLeaseRepository.tryAcquire(leaseName, nodeId, runKey, leaseSeconds, maxAttempts) == 0) {
+            return;
+        }
+
+        ScheduledFuture<?> heartbeat = heartbeats.scheduleAtFixedRate(
+                () -> renew(leaseName), heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        boolean completed = false;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            job.runPartition(runKey, partition, partitionCount, () -> isHeld(leaseName));
+            completed = true;
+        } catch (RuntimeException ex) {
+            log.error("Partition {} of job {} failed for run {}", partition, job.getJobName(), runKey, ex);
+        } finally {
+            sample.stop(meterRegistry.timer("library.job.partition",
+                    "job", job.getJobName(), "outcome", completed ? "completed" : "failed"));
+            heartbeat.cancel(false);
+            if (completed) {
+                jobLeaseRepository.complete(leaseName, nodeId, runKey);
+            } else {
+                jobLeaseRepository.release(leaseName, nodeId);
+                warnIfExhausted(job, leaseName, runKey, partition);
+            }
+        }
+    }
+
+    private void warnIfExhausted(ClusterJob job, String leaseName, String runKey, int partition) {
+        jobLeaseRepository.findById(leaseName)
+                .filter(lease -> runKey.equals(lease.getRunKey()) && lease.getAttempts() >= maxAttempts)
+                .ifPresent(lease -> log.error("Partition {} of job {} failed {} times for run {}, not retrying",
+                        partition, job.getJobName(), lease.getAttempts(), runKey));
+    }
+
+    private void renew(String leaseName) {
+        try {
+            if (jobLeaseRepository.heartbeat(leaseName, nodeId, leaseSeconds) == 0) {
+                log.warn("Lost lease {}", leaseName);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Heartbeat for lease {} failed: {}", leaseName, ex.getMessage());
+        }
+    }
+
+    /**
+     * Checks that this node still holds the lease. A failed check counts as lost,
+     * since the lease may expire while the database is unreachable.
+     */
+    private boolean isHeld(String leaseName) {
+        try {
+            if (jobLeaseRepository.isHeld(leaseName, nodeId)) {
+                return true;
+            }
+            log.warn("Lease {} is no longer held, stopping the partition", leaseName);
+        } catch (RuntimeException ex) {
+            log.warn("Checking lease {} failed, stopping the partition: {}", leaseName, ex.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Creates the lease row for a partition the first time it is seen.
+     * Concurrent inserts by other nodes are expected and ignored.
+     */
+    private void ensureLeaseExists(String leaseName, String jobName, int partition, int partitionCount) {
+        if (jobLeaseRepository.existsById(leaseName)) {
+            return;
+        }
+        try {
+            jobLeaseRepository.saveAndFlush(JobLease.builder()
+                    .name(leaseName)
+                    .jobName(jobName)
+                    .partitionIndex(partition)
+                    .partitionCount(partitionCount)
+                    .build());
+        } catch (DataIntegrityViolationException ex) {
+            // Another node created it first
+        }
+    }
+
+    private static String leaseName(String jobName, int partition) {
+        return jobName + "#" + partition;
+    }
+}
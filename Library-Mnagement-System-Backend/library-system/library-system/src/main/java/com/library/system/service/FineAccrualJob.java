@@ -0,0 +1,125 @@
+package com.library.system.service;
+
+import com.library.system.batch.BatchJobRunner;
+import com.library.system.batch.BatchStep;
+import com.library.system.batch.ItemReader;
+import com.library.system.model.BorrowedBook;
+import com.library.system.repository.BorrowedBookRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Nightly job that stores the current fine of every overdue, unreturned book
+ * in {@link BorrowedBook#getAccruedFine()}, so fine totals can be read
+ * without recalculating them per request.
+ *
+ * Runs are coordinated through {@link ClusterJobCoordinator} and executed in
+ * checkpointed chunks by the {@link BatchJobRunner}. Records are read outside the
+ * chunk transaction, so only the fine column is written back, and only while the
+ * book is still unreturned and unpaid.
+ */
+@Component
+public class FineAccrualJob implements ClusterJob {
+
+    private final BorrowedBookRepository borrowedBookRepository;
+    private final BorrowedBookService borrowedBookService;
+    private final ClusterJobCoordinator clusterJobCoordinator;
+    private final BatchJobRunner batchJobRunner;
+
+    /**
+     * Number of user ID hash partitions the run is split into.
+     */
+    @Value("${fine-accrual.partitions:4}")
+    private int partitions;
+
+    /**
+     * Number of records updated per chunk.
+     */
+    @Value("${batch.chunk-size:200}")
+    private int chunkSize;
+
+    public FineAccrualJob(BorrowedBookRepository borrowedBookRepository,
+                          BorrowedBookService borrowedBookService,
+                          ClusterJobCoordinator clusterJobCoordinator,
+                          BatchJobRunner batchJobRunner) {
+        this.borrowedBookRepository = borrowedBookRepository;
+        this.borrowedBookService = borrowedBookService;
+        this.clusterJobCoordinator = clusterJobCoordinator;
+        this.batchJobRunner = batchJobRunner;
+    }
+
+    /**
+     * Accrues fines every day at 00:30 AM.
+     */
+    @Scheduled(cron = "0 30 0 * * ?")
+    public void accrueFines() {
+        clusterJobCoordinator.trigger(this, LocalDate.now().toString());
+    }
+
+    @Override
+    public String getJobName() {
+        return "fine-accrual";
+    }
+
+    @Override
+    public int getPartitionCount() {
+        return partitions;
+    }
+
+    /**
+     * Updates the accrued fine of overdue books in one partition. The run key is the run date.
+     */
+    @Override
+    public void runPartition(String runKey, int partition, int partitionCount, BooleanSupplier leaseHeld) {
+        LocalDate today = LocalDate.parse(runKey);
+
+        ItemReader<BorrowedBook> reader = new ItemReader<>() {
+            @Override
+            public List<BorrowedBook> read(long afterKey, int size) {
+                return borrowedBookRepository.findOverdueInPartition(
+                        today, afterKey, partition, partitionCount, PageRequest.of(0, size));
+            }
+
+            @Override
+            public long keyOf(BorrowedBook item) {
+                return item.getId();
+            }
+        };
+
+        batchJobRunner.run(new BatchStep<BorrowedBook, FineUpdate>(
+                getJobName() + "#" + partition, reader, this::accrue,
+                this::writeFines, chunkSize), runKey, leaseHeld);
+    }
+
+    /**
+     * Computes the book's current fine.
+     *
+     * @return the fine to store, or null if it has not changed
+     */
+    private FineUpdate accrue(BorrowedBook borrowedBook) {
+        int fine = borrowedBookService.calculateFine(borrowedBook);
+        if (fine == borrowedBook.getAccruedFine()) {
+            return null;
+        }
+        return new FineUpdate(borrowedBook.getId(), fine);
+    }
+
+    private void writeFines(List<FineUpdate> updates) {
+        for (FineUpdate update : updates) {
+            borrowedBookRepository.updateAccruedFine(update.borrowedBookId(), update.fine());
+        }
+    }
+
+    /**
+     * New accrued fine for one borrow record.
+     */
+    record FineUpdate(Long borrowedBookId, int fine) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.library.system.service;
+
+import com.library.system.model.OutboxMessage;
+import com.library.system.repository.OutboxMessageRepository;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service for queueing SMS notifications in the outbox table.
+ * Messages are written in the caller's transaction, so they are stored
+ * if and only if the triggering change commits, and are delivered later
+ * by {@link OutboxRelay}.
+ */
+@Service
+public class NotificationOutbox {
+
+    public static final String TYPE_OTP = "OTP";
+    public static final String TYPE_REMINDER = "REMINDER";
+
+    private final OutboxMessageRepository outboxMessageRepository;
+
+    public NotificationOutbox(OutboxMessageRepository outboxMessageRepository) {
+        this.outboxMessageRepository = outboxMessageRepository;
+    }
+
+    /**
+     * Queues an SMS for delivery, joining the current transaction if there is one.
+     *
+     * @param type the kind of notification (e.g., "OTP" or "REMINDER")
+     * @param mobile the recipient mobile number
+     * @param body the message content
+     * @return the stored outbox message
+     */
+    @Transactional
+    public OutboxMessage enqueue(String type, String mobile, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxMessage message = OutboxMessage.builder()
+                .type(type)
+                .mobile(mobile)
+                .body(body)
+                .status(OutboxMessage.STATUS_PENDING)
+                .attempts(0)
+                .availableAt(now)
+                .createdAt(now)
+                .build();
+        return outboxMessageRepository.save(message);
+    }
+}
@@ -0,0 +1,161 @@
+package com.library.system.service;
+
+import com.library.system.config.NodeIdentity;
+import com.library.system.model.OutboxMessage;
+import com.library.system.repository.OutboxMessageRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Relay that delivers queued outbox messages.
+ *
+ * Each poll locks a batch of ready messages with {@code FOR UPDATE SKIP LOCKED},
+ * marks them as claimed by this node for a short lease and commits, then sends
+ * them on the notification executor. Messages whose claim expires without being
+ * marked as sent (e.g. the node died) are claimed again by any relay, which gives
+ * at-least-once delivery across any number of instances.
+ * Delivery outcomes are counted in the {@code library.outbox.delivery} metric.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final SmsService smsService;
+    private final TaskExecutor notificationExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Value("${outbox.relay.batch-size:50}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-in-flight:200}")
+    private int maxInFlight;
+
+    @Value("${outbox.relay.claim-seconds:60}")
+    private long claimSeconds;
+
+    @Value("${outbox.relay.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${outbox.relay.retention-days:7}")
+    private long retentionDays;
+
+    public OutboxRelay(OutboxMessageRepository outboxMessageRepository,
+                       @Lazy SmsService smsService,
+                       @Qualifier("notificationExecutor") TaskExecutor notificationExecutor,
+                       TransactionTemplate transactionTemplate,
+                       NodeIdentity nodeIdentity,
+                       MeterRegistry meterRegistry) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.smsService = smsService;
+        this.notificationExecutor = notificationExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.nodeId = nodeIdentity.getNodeId();
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("library.outbox.in-flight", inFlight, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Claims and dispatches ready messages, as long as there is room in the executor.
+     */
+    @Scheduled(initialDelayString = "${scheduling.startup-delay-ms:0}", fixedDelayString = "${outbox.relay.poll-interval-ms:1000}")
+    public void poll() {
+        int capacity = Math.min(batchSize, maxInFlight - inFlight.get());
+        if (capacity <= 0) {
+            return;
+        }
+
+        List<OutboxMessage> claimed = claimBatch(capacity);
+        for (OutboxMessage message : claimed) {
+            inFlight.incrementAndGet();
+            try {
+                notificationExecutor.execute(() -> dispatch(message));
+            } catch (TaskRejectedException ex) {
+                // The claim expires and the message is picked up again by a later poll
+                inFlight.decrementAndGet();
+                log.warn("Notification executor rejected outbox message {}", message.getId());
+            }
+        }
+    }
+
+    /**
+     * Deletes delivered messages older than the retention period.
+     * Runs daily at 01:00 AM.
+     */
+    @Scheduled(cron = "0 0 1 * * ?")
+    public void purgeSentMessages() {
+        int deleted = outboxMessageRepository.deleteSentBefore(LocalDateTime.now().minusDays(retentionDays));
+        log.info("Purged {} sent outbox messages", deleted);
+    }
+
+    /**
+     * Locks up to {@code limit} ready messages and claims them for this node.
+     */
+    private List<OutboxMessage> claimBatch(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxMessage> batch = outboxMessageRepository.lockNextBatch(now, limit);
+            for (OutboxMessage message : batch) {
+                message.setStatus(OutboxMessage.STATUS_PROCESSING);
+                message.setClaimedBy(nodeId);
+                message.setAvailableAt(now.plusSeconds(claimSeconds));
+                message.setAttempts(message.getAttempts() + 1);
+            }
+            return outboxMessageRepository.saveAll(batch);
+        });
+    }
+
+    /**
+     * Sends a claimed message and records the outcome.
+     */
+    private void dispatch(OutboxMessage message) {
+        try {
+            smsService.sendMessage(message.getMobile(), message.getBody());
+            outboxMessageRepository.markSent(message.getId(), nodeId, LocalDateTime.now());
+            meterRegistry.counter("library.outbox.delivery", "type", message.getType(), "outcome", "sent").increment();
+        } catch (RuntimeException ex) {
+            boolean giveUp = message.getAttempts() >= maxAttempts;
+            String error = String.valueOf(ex.getMessage());
+            outboxMessageRepository.markAttemptFailed(
+                    message.getId(),
+                    nodeId,
+                    giveUp ? OutboxMessage.STATUS_FAILED : OutboxMessage.STATUS_PENDING,
+                    LocalDateTime.now().plusSeconds(backoffSeconds(message.getAttempts())),
+                    error.length() > 500 ? error.substring(0, 500) : error);
+            meterRegistry.counter("library.outbox.delivery", "type", message.getType(),
+                    "outcome", giveUp ? "failed" : "retry").increment();
+            log.warn("Delivery of outbox message {} failed (attempt {}): {}",
+                    message.getId(), message.getAttempts(), error);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Exponential backoff between attempts: 30s, 60s, 120s, ... capped at one hour.
+     */
+    private static long backoffSeconds(int attempts) {
+        return Math.min(3600L, 30L << Math.min(attempts - 1, 7));
+    }
+}
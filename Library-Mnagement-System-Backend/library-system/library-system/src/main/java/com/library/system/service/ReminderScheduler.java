@@ -1,60 +1,200 @@
 package com.library.system.service;
 
+import com.library.system.batch.BatchJobRunner;
+import com.library.system.batch.BatchStep;
+import com.library.system.batch.ItemReader;
 import com.library.system.model.BorrowedBook;
-import com.library.system.model.User;
+import com.library.system.model.ReminderLog;
 import com.library.system.repository.BorrowedBookRepository;
+import com.library.system.repository.ReminderLogRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
 
 /**
  * Scheduler component that runs daily at 10:00 AM
  * to send SMS reminders to users who have borrowed books
- * due in exactly 2 days.
+ * due within the next few days (2 by default).
+ *
+ * Due loans are read in chunks of users and grouped per user into a single
+ * message listing all titles. Each chunk queues its messages in the
+ * notification outbox in the same transaction that records every reminded
+ * loan in {@link ReminderLog}, so reruns never resend a reminder, a crash
+ * never loses one, and a missed run is caught up by the next one.
+ *
+ * Runs are coordinated through {@link ClusterJobCoordinator}, so with several
+ * instances each user ID hash partition is processed by exactly one node.
  */
 @Component
-public class ReminderScheduler {
+public class ReminderScheduler implements ClusterJob {
 
     private final BorrowedBookRepository borrowedBookRepository;
-    private final SmsService smsService;
+    private final ReminderLogRepository reminderLogRepository;
+    private final NotificationOutbox notificationOutbox;
+    private final ClusterJobCoordinator clusterJobCoordinator;
+    private final BatchJobRunner batchJobRunner;
+
+    /**
+     * Number of days before the due date that a reminder is sent.
+     */
+    @Value("${reminder.days-before:2}")
+    private int daysBefore;
+
+    /**
+     * Number of users loaded and messaged per chunk.
+     */
+    @Value("${reminder.page-size:500}")
+    private int pageSize;
+
+    /**
+     * Number of user ID hash partitions the run is split into.
+     */
+    @Value("${reminder.partitions:4}")
+    private int partitions;
 
     /**
      * Constructor-based dependency injection.
      *
      * @param borrowedBookRepository the repository to access borrow records
-     * @param smsService the service used to send SMS messages
+     * @param reminderLogRepository the repository recording sent reminders
+     * @param notificationOutbox the outbox used to queue SMS messages
+     * @param clusterJobCoordinator the coordinator that leases partitions across nodes
+     * @param batchJobRunner the runner that executes the reminder step in chunks
      */
-    public ReminderScheduler(BorrowedBookRepository borrowedBookRepository, SmsService smsService) {
+    public ReminderScheduler(BorrowedBookRepository borrowedBookRepository,
+                             ReminderLogRepository reminderLogRepository,
+                             NotificationOutbox notificationOutbox,
+                             ClusterJobCoordinator clusterJobCoordinator,
+                             BatchJobRunner batchJobRunner) {
         this.borrowedBookRepository = borrowedBookRepository;
-        this.smsService = smsService;
+        this.reminderLogRepository = reminderLogRepository;
+        this.notificationOutbox = notificationOutbox;
+        this.clusterJobCoordinator = clusterJobCoordinator;
+        this.batchJobRunner = batchJobRunner;
     }
 
     /**
      * Scheduled method that runs every day at 10:00 AM.
-     * It finds all borrowed books that are due in 2 days and not yet returned,
-     * and sends reminder messages to their respective users.
+     * Sends one reminder per user for all their books that are due
+     * in the reminder window and have not been reminded yet.
      */
     @Scheduled(cron = "0 0 10 * * ?")
     public void sendReminders() {
-        LocalDate twoDaysLater = LocalDate.now().plusDays(2);
+        clusterJobCoordinator.trigger(this, LocalDate.now().toString());
+    }
+
+    @Override
+    public String getJobName() {
+        return "reminders";
+    }
+
+    @Override
+    public int getPartitionCount() {
+        return partitions;
+    }
+
+    /**
+     * Sends reminders for every unreturned book due between the run date and
+     * {@code daysBefore} days later that has no reminder recorded yet, for users
+     * in the given user ID hash partition. The run key is the run date.
+     */
+    @Override
+    public void runPartition(String runKey, int partition, int partitionCount, BooleanSupplier leaseHeld) {
+        LocalDate today = LocalDate.parse(runKey);
+        LocalDate to = today.plusDays(daysBefore);
 
-        // Get all books that are due in exactly 2 days and are still not returned
-        List<BorrowedBook> dueSoonList = borrowedBookRepository.findByReturnDateAndReturned(twoDaysLater, false);
+        ItemReader<UserReminder> reader = new ItemReader<>() {
+            @Override
+            public List<UserReminder> read(long afterKey, int chunkSize) {
+                List<Long> userIds = borrowedBookRepository.findUserIdsDueForReminder(
+                        today, to, afterKey, partition, partitionCount, PageRequest.of(0, chunkSize));
+                if (userIds.isEmpty()) {
+                    return List.of();
+                }
+                return groupByUser(borrowedBookRepository.findDueForReminderByUserIds(userIds, today, to));
+            }
 
-        for (int i = 0; i < dueSoonList.size(); i++) {
-            BorrowedBook book = dueSoonList.get(i);
-            User user = book.getUser();
+            @Override
+            public long keyOf(UserReminder item) {
+                return item.userId();
+            }
+        };
 
-            String mobile = user.getMobile();
-            String title = book.getBook().getTitle();
-            LocalDate returnDate = book.getReturnDate();
+        batchJobRunner.run(new BatchStep<UserReminder, UserReminder>(
+                getJobName() + "#" + partition, reader, reminder -> reminder, this::queueReminders, pageSize),
+                runKey, leaseHeld);
+    }
 
-            String message = "Reminder: Only 2 days left to return \"" + title + "\" (Due: " + returnDate + ").";
+    /**
+     * Queues one reminder per user and records every reminded loan.
+     * Called inside the chunk transaction, so both are committed together.
+     *
+     * @param reminders the users to remind, with their due borrow records
+     */
+    private void queueReminders(List<UserReminder> reminders) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ReminderLog> sent = new ArrayList<>();
+        for (UserReminder reminder : reminders) {
+            List<BorrowedBook> userLoans = reminder.loans();
+            notificationOutbox.enqueue(NotificationOutbox.TYPE_REMINDER,
+                    userLoans.get(0).getUser().getMobile(), buildMessage(userLoans));
+            for (BorrowedBook loan : userLoans) {
+                sent.add(ReminderLog.builder()
+                        .borrowedBookId(loan.getId())
+                        .userId(reminder.userId())
+                        .dueDate(loan.getReturnDate())
+                        .sentAt(now)
+                        .build());
+            }
+        }
+        reminderLogRepository.saveAll(sent);
+    }
+
+    /**
+     * Builds the reminder text listing every due title with its due date.
+     *
+     * @param userLoans the user's due borrow records
+     * @return the reminder message
+     */
+    static String buildMessage(List<BorrowedBook> userLoans) {
+        StringBuilder message = new StringBuilder("Reminder: please return ");
+        for (int i = 0; i < userLoans.size(); i++) {
+            BorrowedBook loan = userLoans.get(i);
+            if (i > 0) {
+                message.append(", ");
+            }
+            message.append('"').append(loan.getBook().getTitle()).append("\" (Due: ")
+                    .append(loan.getReturnDate()).append(')');
+        }
+        return message.append('.').toString();
+    }
 
-            smsService.sendMessage(mobile, message);
-            System.out.println("Reminder sent to " + mobile + " for book: " + title);
+    /**
+     * Groups borrow records by user, preserving the query order (ascending user ID).
+     */
+    private static List<UserReminder> groupByUser(List<BorrowedBook> loans) {
+        Map<Long, List<BorrowedBook>> byUser = new LinkedHashMap<>();
+        for (BorrowedBook loan : loans) {
+            byUser.computeIfAbsent(loan.getUser().getId(), id -> new ArrayList<>()).add(loan);
         }
+        List<UserReminder> reminders = new ArrayList<>(byUser.size());
+        byUser.forEach((userId, userLoans) -> reminders.add(new UserReminder(userId, userLoans)));
+        return reminders;
+    }
+
+    /**
+     * A user's due borrow records, ordered by due date.
+     */
+    record UserReminder(Long userId, List<BorrowedBook> loans) {
     }
 }
@@ -1,34 +1,28 @@
 package com.library.system.service;
 
-import com.twilio.Twilio;
-import com.twilio.rest.api.v2010.account.Message;
-import org.springframework.beans.factory.annotation.Value;
+import com.library.system.sms.SmsTransport;
+
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 /**
- * Service responsible for sending SMS messages using the Twilio API.
+ * Service responsible for sending SMS messages.
  * Supports sending OTPs and custom messages to users.
+ * Delivery is delegated to the configured {@link SmsTransport} (Twilio by default).
+ * Created on first use, so the transport is not initialized during startup.
  */
 @Service
+@Lazy
 public class SmsService {
 
-    /**
-     * Twilio Account SID, injected from application.properties.
-     */
-    @Value("${twilio.account.sid}")
-    private String accountSid;
-
-    /**
-     * Twilio Auth Token, injected from application.properties.
-     */
-    @Value("${twilio.auth.token}")
-    private String authToken;
+    private final SmsTransport smsTransport;
 
     /**
-     * Twilio phone number used to send outgoing SMS.
+     * @param smsTransport the transport that delivers messages
      */
-    @Value("${twilio.phone.number}")
-    private String fromNumber;
+    public SmsService(SmsTransport smsTransport) {
+        this.smsTransport = smsTransport;
+    }
 
     /**
      * Sends an OTP to the specified mobile number.
@@ -38,19 +32,7 @@ public class SmsService {
      * @param otp the OTP code to send
      */
     public void sendOtp(String to, String otp) {
-        Twilio.init(accountSid, authToken);
-
-        if (!to.startsWith("+")) {
-            to = "+91" + to;
-        }
-
-        Message.creator(
-                new com.twilio.type.PhoneNumber(to),
-                new com.twilio.type.PhoneNumber(fromNumber),
-                "Your Library OTP is: " + otp
-        ).create();
-
-        System.out.println("Sent OTP to: " + to);
+        sendMessage(to, "Your Library OTP is: " + otp);
     }
 
     /**
@@ -61,18 +43,9 @@ public class SmsService {
      * @param body the message content
      */
     public void sendMessage(String to, String body) {
-        Twilio.init(accountSid, authToken);
-
         if (!to.startsWith("+")) {
             to = "+91" + to;
         }
-
-        Message.creator(
-                new com.twilio.type.PhoneNumber(to),
-                new com.twilio.type.PhoneNumber(fromNumber),
-                body
-        ).create();
-
-        System.out.println("Sent message to: " + to);
+        smsTransport.send(to, body);
     }
 }
@@ -0,0 +1,306 @@
+package com.library.system.service;
+
+import com.library.system.dto.UserImportReport;
+import com.library.system.dto.UserImportReport.RowError;
+import com.library.system.model.User;
+import com.library.system.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+
+/**
+ * Imports users in bulk from CSV.
+ *
+ * The file is streamed in chunks. For each chunk, rows are validated, duplicates
+ * within the file and against the database are rejected (one IN query per column),
+ * passwords are hashed in parallel on the bounded {@code importExecutor}, and the
+ * users are inserted with a single JDBC batch. If a batch fails, for example because
+ * a concurrent registration took an email, the chunk is retried row by row so every
+ * failure is reported against its line. The inserts bypass Hibernate, so after each
+ * chunk the query cache regions and the cached users are evicted explicitly.
+ *
+ * Expected columns: {@code name,email,mobile,password[,role]}, with a header row.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO user (name, email, password, role, mobile) VALUES (?, ?, ?, ?, ?)";
+
+    private static final Pattern MOBILE_PATTERN = Pattern.compile("\\d{10}");
+
+    private final UserRepository userRepository;
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor importExecutor;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Number of rows validated, hashed and inserted together.
+     */
+    @Value("${user-import.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Maximum number of row errors listed in the report; further errors are only counted.
+     */
+    @Value("${user-import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public UserImportService(UserRepository userRepository,
+                             BCryptPasswordEncoder passwordEncoder,
+                             @Qualifier("importExecutor") ThreadPoolTaskExecutor importExecutor,
+                             JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             EntityManagerFactory entityManagerFactory) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.importExecutor = importExecutor;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Imports users from a CSV stream.
+     *
+     * @param input the CSV content (UTF-8)
+     * @return the import report
+     * @throws IOException if the stream cannot be read
+     */
+    public UserImportReport importCsv(InputStream input) throws IOException {
+        long started = System.nanoTime();
+        ImportState state = new ImportState();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            long lineNumber = 1;
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                state.totalRows++;
+                Row row = parse(lineNumber, line, state);
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() >= chunkSize) {
+                    processChunk(chunk, state);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(chunk, state);
+            }
+        }
+
+        long durationMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        double rowsPerSecond = state.totalRows * 1000.0 / durationMs;
+        log.info("Imported {} of {} users in {} ms ({} rows/s)",
+                state.imported, state.totalRows, durationMs, Math.round(rowsPerSecond));
+        return new UserImportReport(state.totalRows, state.imported, state.failed, state.errors,
+                durationMs, rowsPerSecond);
+    }
+
+    /**
+     * Validates a CSV line and rejects emails or mobile numbers repeated within the file.
+     *
+     * @return the row, or null if it was rejected
+     */
+    private Row parse(long lineNumber, String line, ImportState state) {
+        List<String> fields = splitCsvLine(line);
+        if (fields.size() < 4 || fields.size() > 5) {
+            state.reject(lineNumber, null, "Expected 4 or 5 columns: name,email,mobile,password[,role]");
+            return null;
+        }
+        String name = fields.get(0).strip();
+        String email = fields.get(1).strip();
+        String mobile = fields.get(2).strip();
+        String password = fields.get(3);
+        String role = fields.size() == 5 && !fields.get(4).isBlank()
+                ? fields.get(4).strip().toLowerCase(Locale.ROOT) : "user";
+
+        if (name.isEmpty()) {
+            state.reject(lineNumber, email, "Name is required");
+        } else if (email.isEmpty() || email.indexOf('@') < 1) {
+            state.reject(lineNumber, email, "Invalid email");
+        } else if (!MOBILE_PATTERN.matcher(mobile).matches()) {
+            state.reject(lineNumber, email, "Mobile number must be 10 digits");
+        } else if (password.isEmpty()) {
+            state.reject(lineNumber, email, "Password is required");
+        } else if (!role.equals("user") && !role.equals("admin")) {
+            state.reject(lineNumber, email, "Role must be user or admin");
+        } else if (!state.seenEmails.add(normalize(email))) {
+            state.reject(lineNumber, email, "Duplicate email in file");
+        } else if (!state.seenMobiles.add(mobile)) {
+            state.reject(lineNumber, email, "Duplicate mobile number in file");
+        } else {
+            return new Row(lineNumber, name, email, mobile, password, role);
+        }
+        return null;
+    }
+
+    /**
+     * Rejects rows that are already registered, hashes the rest in parallel and inserts them.
+     */
+    private void processChunk(List<Row> chunk, ImportState state) {
+        Set<String> existingEmails = new HashSet<>();
+        for (String email : userRepository.findExistingEmails(chunk.stream().map(Row::email).toList())) {
+            existingEmails.add(normalize(email));
+        }
+        Set<String> existingMobiles = new HashSet<>(
+                userRepository.findExistingMobiles(chunk.stream().map(Row::mobile).toList()));
+
+        List<Row> fresh = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (existingEmails.contains(normalize(row.email()))) {
+                state.reject(row.line(), row.email(), "Email already registered");
+            } else if (existingMobiles.contains(row.mobile())) {
+                state.reject(row.line(), row.email(), "Mobile number already registered");
+            } else {
+                fresh.add(row);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<String>> hashes = new ArrayList<>(fresh.size());
+        for (Row row : fresh) {
+            hashes.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(row.password()), importExecutor));
+        }
+        List<Object[]> params = new ArrayList<>(fresh.size());
+        for (int i = 0; i < fresh.size(); i++) {
+            Row row = fresh.get(i);
+            params.add(new Object[]{row.name(), row.email(), hashes.get(i).join(), row.role(), row.mobile()});
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, params));
+            for (Row row : fresh) {
+                inserted(row, state);
+            }
+        } catch (DataAccessException batchFailure) {
+            log.debug("Batch insert failed, retrying chunk row by row", batchFailure);
+            for (int i = 0; i < fresh.size(); i++) {
+                Row row = fresh.get(i);
+                try {
+                    jdbcTemplate.update(INSERT_SQL, params.get(i));
+                    inserted(row, state);
+                } catch (DataAccessException ex) {
+                    state.reject(row.line(), row.email(), "Insert failed: " + ex.getMostSpecificCause().getMessage());
+                }
+            }
+        } finally {
+            evictUserCaches();
+        }
+    }
+
+    /**
+     * Drops cached query results and users, which Hibernate cannot invalidate for
+     * rows it did not write; a cached "no user with this email" would otherwise outlive the import.
+     */
+    private void evictUserCaches() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictQueryRegions();
+        cache.evictEntityData(User.class);
+    }
+
+    private void inserted(Row row, ImportState state) {
+        state.imported++;
+    }
+
+    /**
+     * Normalizes an email the way MySQL's default collation compares it
+     * (case-insensitive, trailing spaces ignored), so duplicates are caught before the insert.
+     */
+    private static String normalize(String value) {
+        return value.stripTrailing().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits a CSV line, honouring double-quoted fields and doubled quotes inside them.
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * A validated CSV row.
+     */
+    private record Row(long line, String name, String email, String mobile, String password, String role) {
+    }
+
+    /**
+     * Counters and dedup sets for one import.
+     */
+    private final class ImportState {
+        private final Set<String> seenEmails = new HashSet<>();
+        private final Set<String> seenMobiles = new HashSet<>();
+        private final List<RowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long imported;
+        private long failed;
+
+        private void reject(long line, String email, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RowError(line, email, message));
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.library.system.service;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import com.library.system.dto.UserResponse;
 import com.library.system.model.User;
 
 /**
@@ -15,7 +17,17 @@ public interface UserService {
      * @param user the user object to register
      * @return the registered user
      */
-    User register(User user);
+    UserResponse register(User user);
+
+    /**
+     * Registers a new user, encoding the password on the password hashing pool.
+     *
+     * @param user the user object to register
+     * @return a future completed with the registered user, or failed with a
+     *         {@link org.springframework.dao.DataIntegrityViolationException} if the email or mobile is taken
+     * @throws com.library.system.exception.ServiceOverloadedException if the hashing pool is saturated
+     */
+    CompletableFuture<UserResponse> registerAsync(User user);
 
     /**
      * Logs in a user by verifying email and password.
@@ -36,6 +48,28 @@ public interface UserService {
      */
     User loginWithRole(String email, String password, String role);
 
+    /**
+     * Logs in a user by verifying email and password on the password hashing pool.
+     * If the stored hash uses a lower work factor than configured, it is upgraded.
+     *
+     * @param email user's email
+     * @param password user's password
+     * @return a future completed with the user if credentials are correct; otherwise with null
+     * @throws com.library.system.exception.ServiceOverloadedException if the hashing pool is saturated
+     */
+    CompletableFuture<User> loginAsync(String email, String password);
+
+    /**
+     * Logs in a user and verifies both password and role on the password hashing pool.
+     *
+     * @param email user's email
+     * @param password user's password
+     * @param role user's role (e.g., "admin" or "user")
+     * @return a future completed with the user if credentials and role match; otherwise with null
+     * @throws com.library.system.exception.ServiceOverloadedException if the hashing pool is saturated
+     */
+    CompletableFuture<User> loginWithRoleAsync(String email, String password, String role);
+
     /**
      * Updates the password for a user with the specified email.
      *
@@ -44,6 +78,15 @@ public interface UserService {
      */
     void updatePassword(String email, String newPassword);
 
+    /**
+     * Resets the password for the user with the specified mobile number.
+     *
+     * @param mobile the user's mobile number
+     * @param newPassword the new raw password
+     * @return true if a user with that mobile number exists
+     */
+    boolean resetPassword(String mobile, String newPassword);
+
     /**
      * Finds a user by email.
      *
@@ -60,6 +103,22 @@ public interface UserService {
      */
     Optional<User> findByMobile(String mobile);
 
+    /**
+     * Gets the profile of the user with the given email.
+     *
+     * @param email the user's email
+     * @return an Optional containing the profile if found
+     */
+    Optional<UserResponse> getProfile(String email);
+
+    /**
+     * Gets the profile of the user with the given mobile number.
+     *
+     * @param mobile the user's mobile number
+     * @return an Optional containing the profile if found
+     */
+    Optional<UserResponse> getProfileByMobile(String mobile);
+
     /**
      * Checks if a user exists with the given email.
      *
@@ -85,7 +144,8 @@ public interface UserService {
     boolean existsByRole(String role);
 
     /**
-     * Saves an OTP and its generated time for the given mobile number.
+     * Saves an OTP and its generated time for the given mobile number,
+     * and queues the OTP SMS in the same transaction.
      *
      * @param mobile the mobile number to associate with the OTP
      * @param otp the one-time password to save
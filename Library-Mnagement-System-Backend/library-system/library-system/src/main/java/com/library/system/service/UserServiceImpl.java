@@ -1,32 +1,75 @@
 package com.library.system.service;
 
+import com.library.system.dto.UserResponse;
+import com.library.system.exception.TooManyRequestsException;
 import com.library.system.model.User;
+import com.library.system.otp.OtpStore;
 import com.library.system.repository.UserRepository;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import com.library.system.security.PasswordHashingService;
+import org.springframework.beans.factory.annotation.Value;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 /**
  * Service implementation for handling user operations like login,
  * registration, OTP generation/verification, and password reset.
+ * All BCrypt work runs on the bounded {@link PasswordHashingService} pool.
+ * OTPs live in the {@link OtpStore}, which also enforces per-mobile send and verify limits.
  */
 @Service
+@Timed("library.service")
 public class UserServiceImpl implements UserService {
 
-    @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
-
+    private final PasswordHashingService passwordHashingService;
     private final UserRepository userRepository;
-    private final SmsService smsService;
+    private final NotificationOutbox notificationOutbox;
+    private final OtpStore otpStore;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * How long an OTP stays valid.
+     */
+    @Value("${otp.ttl-seconds:120}")
+    private long otpTtlSeconds;
+
+    /**
+     * Maximum number of OTPs sent to one mobile number per send window.
+     */
+    @Value("${otp.max-sends:3}")
+    private int otpMaxSends;
+
+    /**
+     * Length of the per-mobile send window.
+     */
+    @Value("${otp.send-window-seconds:900}")
+    private long otpSendWindowSeconds;
 
-    public UserServiceImpl(UserRepository userRepository, SmsService smsService, BCryptPasswordEncoder passwordEncoder) {
+    /**
+     * Maximum number of wrong verification attempts before an OTP is invalidated.
+     */
+    @Value("${otp.max-verify-attempts:5}")
+    private int otpMaxVerifyAttempts;
+
+    public UserServiceImpl(UserRepository userRepository, NotificationOutbox notificationOutbox,
+                           PasswordHashingService passwordHashingService, OtpStore otpStore,
+                           TransactionTemplate transactionTemplate) {
         this.userRepository = userRepository;
-        this.smsService = smsService;
-        this.passwordEncoder = passwordEncoder;
+        this.notificationOutbox = notificationOutbox;
+        this.passwordHashingService = passwordHashingService;
+        this.otpStore = otpStore;
+        this.transactionTemplate = transactionTemplate;
     }
 
     /**
@@ -34,14 +77,7 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public User login(String email, String password) {
-        Optional<User> userOpt = userRepository.findByEmail(email);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            if (passwordEncoder.matches(password, user.getPassword())) {
-                return user;
-            }
-        }
-        return null;
+        return await(loginAsync(email, password));
     }
 
     /**
@@ -49,21 +85,76 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public User loginWithRole(String email, String password, String role) {
+        return await(loginWithRoleAsync(email, password, role));
+    }
+
+    /**
+     * Logs in the user with email and password without blocking the calling thread on BCrypt.
+     */
+    @Override
+    public CompletableFuture<User> loginAsync(String email, String password) {
+        return loginWithRoleAsync(email, password, null);
+    }
+
+    /**
+     * Logs in user with role-based validation without blocking the calling thread on BCrypt.
+     * A null role accepts any role.
+     */
+    @Override
+    public CompletableFuture<User> loginWithRoleAsync(String email, String password, String role) {
         Optional<User> userOpt = userRepository.findByEmail(email);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            if (passwordEncoder.matches(password, user.getPassword())
-                    && user.getRole().equalsIgnoreCase(role)) {
-                return user;
+        if (userOpt.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        User user = userOpt.get();
+        return passwordHashingService.matches(password, user.getPassword())
+                .thenCompose(matched -> {
+                    if (!matched || (role != null && !user.getRole().equalsIgnoreCase(role))) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    return rehashIfNeeded(user, password);
+                });
+    }
+
+    /**
+     * Re-hashes the password with the configured work factor if the stored hash uses a lower one.
+     * A failed rehash never fails the login; it is retried on the next one.
+     */
+    private CompletableFuture<User> rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordHashingService.needsRehash(user.getPassword())) {
+            return CompletableFuture.completedFuture(user);
+        }
+        try {
+            return passwordHashingService.encode(rawPassword)
+                    .thenApply(hash -> {
+                        user.setPassword(hash);
+                        return userRepository.save(user);
+                    })
+                    .exceptionally(ex -> user);
+        } catch (RuntimeException ex) {
+            return CompletableFuture.completedFuture(user);
+        }
+    }
+
+    /**
+     * Waits for a hashing result, rethrowing the original exception on failure.
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
+            throw ex;
         }
-        return null;
     }
 
     /**
      * Finds user by email.
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
@@ -72,14 +163,34 @@ public class UserServiceImpl implements UserService {
      * Finds user by mobile number.
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> findByMobile(String mobile) {
         return userRepository.findByMobile(mobile);
     }
 
+    /**
+     * Gets a user's profile by email.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UserResponse> getProfile(String email) {
+        return findByEmail(email).map(UserResponse::from);
+    }
+
+    /**
+     * Gets a user's profile by mobile number.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UserResponse> getProfileByMobile(String mobile) {
+        return findByMobile(mobile).map(UserResponse::from);
+    }
+
     /**
      * Checks if email already exists.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
@@ -88,89 +199,130 @@ public class UserServiceImpl implements UserService {
      * Checks if mobile number already exists.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByMobile(String mobile) {
         return userRepository.existsByMobile(mobile);
     }
 
     /**
      * Updates user password after encoding it.
+     * The hash is computed before the transaction starts, so no connection is held while BCrypt runs.
      */
     @Override
     public void updatePassword(String email, String newPassword) {
-        Optional<User> userOpt = userRepository.findByEmail(email);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            user.setPassword(passwordEncoder.encode(newPassword));
-            userRepository.save(user);
-        }
+        String hash = await(passwordHashingService.encode(newPassword));
+        setPassword(() -> userRepository.findByEmail(email), hash);
     }
 
     /**
-     * Saves generated OTP and timestamp for a user.
+     * Resets the password of the user with the given mobile number.
+     * The hash is computed before the user is looked up, so the request holds no
+     * connection while BCrypt runs; an unknown mobile number still costs one hash.
      */
     @Override
+    public boolean resetPassword(String mobile, String newPassword) {
+        String hash = await(passwordHashingService.encode(newPassword));
+        return setPassword(() -> userRepository.findByMobile(mobile), hash);
+    }
+
+    /**
+     * Stores an already computed hash for the user found by the lookup, in one transaction.
+     *
+     * @return true if the user was found
+     */
+    private boolean setPassword(Supplier<Optional<User>> lookup, String hash) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            Optional<User> userOpt = lookup.get();
+            userOpt.ifPresent(user -> user.setPassword(hash));
+            return userOpt.isPresent();
+        }));
+    }
+
+    /**
+     * Stores a generated OTP for a registered mobile number and queues the OTP SMS.
+     */
+    @Override
+    @Transactional
     public void saveOtp(String mobile, String otp) {
-        Optional<User> userOpt = userRepository.findByMobile(mobile);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            user.setOtp(otp);
-            user.setOtpGeneratedTime(LocalDateTime.now());
-            userRepository.save(user);
+        if (existsByMobile(mobile)) {
+            otpStore.store(mobile, otp, Instant.now().plusSeconds(otpTtlSeconds));
+            notificationOutbox.enqueue(NotificationOutbox.TYPE_OTP, mobile, "Your Library OTP is: " + otp);
         }
     }
 
     /**
-     * Verifies the OTP within 2 minutes.
+     * Verifies the OTP before it expires (2 minutes by default).
+     * A matching OTP is consumed; too many wrong attempts invalidate it.
      */
     @Override
     public boolean verifyOtp(String mobile, String otp) {
-        Optional<User> userOpt = userRepository.findByMobile(mobile);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            if (user.getOtp() != null && user.getOtpGeneratedTime() != null) {
-                LocalDateTime expiryTime = user.getOtpGeneratedTime().plusMinutes(2);
-                if (LocalDateTime.now().isBefore(expiryTime)) {
-                    boolean isMatch = user.getOtp().equals(otp);
-                    if (isMatch) {
-                        user.setOtp(null);
-                        user.setOtpGeneratedTime(null);
-                        userRepository.save(user);
-                    }
-                    return isMatch;
-                }
-            }
-        }
-        return false;
+        return otpStore.verify(mobile, otp, otpMaxVerifyAttempts) == OtpStore.VerifyResult.MATCH;
     }
 
     /**
      * Sends a 6-digit OTP to the user using SMS.
+     * The SMS is delivered asynchronously through the notification outbox.
+     *
+     * @throws TooManyRequestsException if the mobile number reached its send limit
      */
     @Override
+    @Transactional
     public void sendOtp(String mobile) {
-        Optional<User> userOpt = userRepository.findByMobile(mobile);
-        if (userOpt.isEmpty()) {
+        if (!existsByMobile(mobile)) {
             throw new RuntimeException("Mobile number not registered");
         }
+        Duration wait = otpStore.tryRegisterSend(mobile, otpMaxSends, Duration.ofSeconds(otpSendWindowSeconds));
+        if (!wait.isZero()) {
+            long retryAfterSeconds = Math.max(1, (wait.toMillis() + 999) / 1000);
+            throw new TooManyRequestsException("Too many OTP requests, please try again later", retryAfterSeconds);
+        }
 
         String otp = String.valueOf(new Random().nextInt(900000) + 100000);
         saveOtp(mobile, otp);
-        smsService.sendOtp(mobile, otp);
     }
 
     /**
      * Registers a new user after encoding their password.
+     * A taken email or mobile number fails on the unique constraint, which the controller maps to 409.
+     */
+    @Override
+    public UserResponse register(User user) {
+        return await(registerAsync(user));
+    }
+
+    /**
+     * Registers a new user without blocking the calling thread on BCrypt.
+     * The insert runs on the hashing pool thread once the hash is ready, bound to the
+     * caller's request so the replica routing still pins the client to the primary.
      */
     @Override
-    public User register(User user) {
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+    public CompletableFuture<UserResponse> registerAsync(User user) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        return passwordHashingService.encode(user.getPassword())
+                .thenApply(hash -> {
+                    user.setPassword(hash);
+                    return inRequest(requestAttributes, () -> UserResponse.from(userRepository.save(user)));
+                });
+    }
+
+    /**
+     * Runs the action with the given request bound to the current thread, restoring the previous binding.
+     */
+    private static <T> T inRequest(RequestAttributes requestAttributes, Supplier<T> action) {
+        RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        try {
+            return action.get();
+        } finally {
+            RequestContextHolder.setRequestAttributes(previous);
+        }
     }
 
     /**
      * Checks if any user exists with the specified role.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByRole(String role) {
         return userRepository.existsByRole(role);
     }
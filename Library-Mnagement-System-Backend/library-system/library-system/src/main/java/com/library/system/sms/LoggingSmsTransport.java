@@ -0,0 +1,23 @@
+package com.library.system.sms;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stub transport that only logs messages, for local runs and load tests
+ * where no Twilio account should be used ({@code sms.transport=log}), and for the
+ * native image, which leaves the Twilio SDK out.
+ */
+@Component
+@ConditionalOnProperty(name = "sms.transport", havingValue = "log")
+public class LoggingSmsTransport implements SmsTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingSmsTransport.class);
+
+    @Override
+    public void send(String to, String body) {
+        log.info("SMS to {}: {}", to, body);
+    }
+}
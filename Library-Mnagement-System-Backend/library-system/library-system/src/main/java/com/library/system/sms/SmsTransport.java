@@ -0,0 +1,16 @@
+package com.library.system.sms;
+
+/**
+ * Delivers a text message to a phone number.
+ * The implementation is chosen with the {@code sms.transport} property.
+ */
+public interface SmsTransport {
+
+    /**
+     * Sends a message.
+     *
+     * @param to the recipient's phone number in E.164 format
+     * @param body the message content
+     */
+    void send(String to, String body);
+}
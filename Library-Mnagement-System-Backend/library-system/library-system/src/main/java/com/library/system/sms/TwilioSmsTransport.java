@@ -0,0 +1,48 @@
+package com.library.system.sms;
+
+import com.twilio.Twilio;
+import com.twilio.rest.api.v2010.account.Message;
+import com.twilio.type.PhoneNumber;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends SMS messages through the Twilio API. This is the default transport.
+ */
+@Component
+@ConditionalOnProperty(name = "sms.transport", havingValue = "twilio", matchIfMissing = true)
+@Lazy
+public class TwilioSmsTransport implements SmsTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(TwilioSmsTransport.class);
+
+    /**
+     * Twilio phone number used to send outgoing SMS.
+     */
+    private final PhoneNumber fromNumber;
+
+    /**
+     * Initializes the Twilio client once with the configured credentials.
+     *
+     * @param accountSid the Twilio Account SID
+     * @param authToken the Twilio Auth Token
+     * @param fromNumber the Twilio sender phone number
+     */
+    public TwilioSmsTransport(@Value("${twilio.account.sid}") String accountSid,
+                              @Value("${twilio.auth.token}") String authToken,
+                              @Value("${twilio.phone.number}") String fromNumber) {
+        Twilio.init(accountSid, authToken);
+        this.fromNumber = new PhoneNumber(fromNumber);
+    }
+
+    @Override
+    public void send(String to, String body) {
+        Message.creator(new PhoneNumber(to), fromNumber, body).create();
+        log.info("Sent message to: {}", to);
+    }
+}
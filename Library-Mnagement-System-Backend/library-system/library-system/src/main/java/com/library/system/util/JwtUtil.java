@@ -2,52 +2,147 @@ package com.library.system.util;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.WeakKeyException;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Utility class for handling JWT generation, parsing, and validation.
+ *
+ * The signing key and parser are built once. Recently verified tokens are kept
+ * in a bounded LRU cache keyed by the SHA-256 hash of the token, so repeated
+ * requests with the same token skip signature verification until it expires.
  */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    /**
+     * Claim holding the user ID.
+     */
+    public static final String CLAIM_USER_ID = "id";
+
+    /**
+     * Claim holding the user role.
+     */
+    public static final String CLAIM_ROLE = "role";
 
     // Token expiration duration: 24 hours (in milliseconds)
     private final long jwtExpirationInMs = 86400000;
 
+    private final Key signingKey;
+    private final JwtParser jwtParser;
+
+    private final int cacheSize;
+    private final ReentrantLock cacheLock = new ReentrantLock();
+    private final Map<String, Claims> verifiedTokens;
+
+    /**
+     * Builds the signing key and parser from the configured secret.
+     *
+     * @param jwtSecret the HMAC secret (must be at least 256 bits)
+     * @param cacheSize the maximum number of verified tokens to cache; 0 disables caching
+     * @throws IllegalStateException if the secret is shorter than 256 bits, such as the
+     *         placeholder in application.properties
+     */
+    public JwtUtil(@Value("${jwt.secret}") String jwtSecret,
+                   @Value("${jwt.cache.max-size:10000}") int cacheSize) {
+        try {
+            this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        } catch (WeakKeyException ex) {
+            throw new IllegalStateException("jwt.secret must be at least 32 bytes (256 bits) long; the value in "
+                    + "application.properties is a placeholder. Set jwt.secret (or JWT_SECRET) to a real secret, "
+                    + "or run with the local profile for development.", ex);
+        }
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.cacheSize = cacheSize;
+        this.verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
     /**
-     * Generates a JWT token for the given email.
+     * Generates a JWT token for the given user.
+     * The ID and role are included as claims so requests can be authorized without a user lookup.
      *
      * @param email the email to set as subject
+     * @param id the user ID
+     * @param role the user role
      * @return signed JWT token
      */
-    public String generateToken(String email) {
+    public String generateToken(String email, Long id, String role) {
         return Jwts.builder()
                 .setSubject(email)
+                .claim(CLAIM_USER_ID, id)
+                .claim(CLAIM_ROLE, role)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationInMs))
-                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Verifies the token's signature and expiration and returns its claims.
+     * The returned claims may be shared with other callers and must not be modified.
+     *
+     * @param token the JWT token
+     * @return the claims if the token is valid; empty if expired or invalid
+     */
+    public Optional<Claims> parseClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        String cacheKey = cacheSize > 0 ? hash(token) : null;
+        if (cacheKey != null) {
+            Claims cached = getCached(cacheKey);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+
+        Claims claims;
+        try {
+            claims = jwtParser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+
+        if (cacheKey != null) {
+            cacheLock.lock();
+            try {
+                verifiedTokens.put(cacheKey, claims);
+            } finally {
+                cacheLock.unlock();
+            }
+        }
+        return Optional.of(claims);
+    }
+
     /**
      * Extracts the email (subject) from a JWT token.
      *
      * @param token the JWT token
      * @return the subject (email) from token
+     * @throws JwtException if the token is expired or invalid
      */
     public String getEmailFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parseClaims(token)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new JwtException("Invalid or expired token"));
     }
 
     /**
@@ -57,14 +152,36 @@ public class JwtUtil {
      * @return true if valid; false if expired or invalid
      */
     public boolean validateToken(String token) {
+        return parseClaims(token).isPresent();
+    }
+
+    /**
+     * Returns cached claims for a token hash if they have not expired.
+     */
+    private Claims getCached(String cacheKey) {
+        cacheLock.lock();
+        try {
+            Claims claims = verifiedTokens.get(cacheKey);
+            if (claims == null) {
+                return null;
+            }
+            Date expiration = claims.getExpiration();
+            if (expiration != null && !expiration.after(new Date())) {
+                verifiedTokens.remove(cacheKey);
+                return null;
+            }
+            return claims;
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private static String hash(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
-                .build()
-                .parseClaimsJws(token);
-            return true;
-        } catch (JwtException ex) {
-            return false;
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
         }
     }
 }
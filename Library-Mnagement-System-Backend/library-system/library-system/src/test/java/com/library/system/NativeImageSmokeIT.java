@@ -0,0 +1,82 @@
+package com.library.system;
+
+import com.library.system.loadtest.StartupBenchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the native executable built by {@code mvn -Pnative verify} and checks that it
+ * answers its liveness probe within {@code native.max-startup-ms} and stays under
+ * {@code native.max-rss-mb} of resident memory. No database is needed, since the
+ * native profile does not touch it during startup. The executable gets a test JWT
+ * secret, as the placeholder in application.properties is rejected at startup.
+ */
+@EnabledIfSystemProperty(named = "native.executable", matches = ".+")
+class NativeImageSmokeIT {
+
+    private static final String JWT_SECRET = "native-smoke-test-secret-that-is-long-enough-for-hs256";
+
+    @Test
+    void startsFastWithSmallFootprint() throws Exception {
+        Path executable = Path.of(System.getProperty("native.executable"));
+        long maxStartupMs = Long.getLong("native.max-startup-ms", 1000);
+        long maxRssMb = Long.getLong("native.max-rss-mb", 256);
+        assertThat(Files.isExecutable(executable)).as("native executable %s", executable).isTrue();
+
+        int port = freePort();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest liveness = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/actuator/health/liveness")).GET().build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(executable.toString(), "--server.port=" + port,
+                "--jwt.secret=" + JWT_SECRET)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long startupMs = -1;
+            long deadline = start + TimeUnit.SECONDS.toNanos(30);
+            while (System.nanoTime() < deadline && process.isAlive()) {
+                try {
+                    if (client.send(liveness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        startupMs = (System.nanoTime() - start) / 1_000_000;
+                        break;
+                    }
+                } catch (IOException notListeningYet) {
+                    // Connection refused until the server is up
+                }
+                Thread.sleep(5);
+            }
+            long rssMb = StartupBenchmark.readRssKb(process.pid()) / 1024;
+
+            assertThat(startupMs).as("time to first liveness response (ms)").isBetween(0L, maxStartupMs);
+            assertThat(rssMb).as("resident memory after startup (MB)").isLessThanOrEqualTo(maxRssMb);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.library.system.batch;
+
+import com.library.system.model.BatchCheckpoint;
+import com.library.system.repository.BatchCheckpointRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs in-memory steps through the runner on the local profile and checks how
+ * the checkpoint follows chunks that commit out of order, fail, or are stopped.
+ */
+@SpringBootTest(properties = {"local.seed.users=5", "local.seed.books=5"})
+@ActiveProfiles("local")
+@AutoConfigureMockMvc
+class BatchJobRunnerTest {
+
+    private static final int ITEMS = 50;
+    private static final int CHUNK_SIZE = 10;
+
+    @Autowired
+    private BatchJobRunner batchJobRunner;
+
+    @Autowired
+    private BatchCheckpointRepository checkpointRepository;
+
+    @Test
+    void checkpointStopsBelowAFailedChunkAndTheRerunResumesFromIt() {
+        AtomicBoolean failChunk = new AtomicBoolean(true);
+        List<Long> written = Collections.synchronizedList(new ArrayList<>());
+        List<Long> readFrom = Collections.synchronizedList(new ArrayList<>());
+        BatchStep<Long, Long> step = new BatchStep<>("test-out-of-order", reader(readFrom), item -> {
+            if (item == 1) {
+                // Hold back the first chunk so the second one commits first
+                sleep(300);
+            }
+            if (item == 25 && failChunk.get()) {
+                throw new IllegalStateException("boom");
+            }
+            return item;
+        }, written::addAll, CHUNK_SIZE);
+
+        assertThatThrownBy(() -> batchJobRunner.run(step, "run-1"))
+                .isInstanceOf(IllegalStateException.class);
+
+        BatchCheckpoint failed = checkpointRepository.findById("test-out-of-order@run-1").orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(BatchCheckpoint.STATUS_FAILED);
+        assertThat(failed.getLastKey()).isEqualTo(20);
+        assertThat(written.get(0)).isEqualTo(11);
+
+        failChunk.set(false);
+        readFrom.clear();
+        written.clear();
+        BatchRunStats stats = batchJobRunner.run(step, "run-1");
+
+        assertThat(readFrom.get(0)).isEqualTo(20);
+        assertThat(written).doesNotContain(1L, 20L).contains(21L, 50L);
+        assertThat(stats.status()).isEqualTo(BatchCheckpoint.STATUS_COMPLETED);
+        BatchCheckpoint completed = checkpointRepository.findById("test-out-of-order@run-1").orElseThrow();
+        assertThat(completed.getLastKey()).isEqualTo(ITEMS);
+
+        assertThat(batchJobRunner.run(step, "run-1").status()).isEqualTo("Skipped");
+    }
+
+    @Test
+    void runStopsOnceItMayNotContinue() {
+        List<Long> written = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger checks = new AtomicInteger();
+        BatchStep<Long, Long> step = new BatchStep<>("test-stopped", reader(new ArrayList<>()),
+                item -> item, written::addAll, CHUNK_SIZE);
+
+        assertThatThrownBy(() -> batchJobRunner.run(step, "run-1", () -> checks.incrementAndGet() <= 2))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(written).hasSize(2 * CHUNK_SIZE);
+        BatchCheckpoint stopped = checkpointRepository.findById("test-stopped@run-1").orElseThrow();
+        assertThat(stopped.getStatus()).isEqualTo(BatchCheckpoint.STATUS_FAILED);
+        assertThat(stopped.getLastKey()).isEqualTo(2 * CHUNK_SIZE);
+    }
+
+    /**
+     * Reads the numbers 1 to {@link #ITEMS}, recording the key each read starts after.
+     */
+    private static ItemReader<Long> reader(List<Long> readFrom) {
+        return new ItemReader<>() {
+            @Override
+            public List<Long> read(long afterKey, int size) {
+                readFrom.add(afterKey);
+                List<Long> items = new ArrayList<>();
+                for (long i = afterKey + 1; i <= Math.min(afterKey + size, ITEMS); i++) {
+                    items.add(i);
+                }
+                return items;
+            }
+
+            @Override
+            public long keyOf(Long item) {
+                return item;
+            }
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.library.system.catalog;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.util.DigestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Requests a catalog URL twice on the local profile and checks that the cached
+ * response matches the one produced by the controller.
+ */
+@SpringBootTest(properties = {"local.seed.users=5", "local.seed.books=5"})
+@ActiveProfiles("local")
+@AutoConfigureMockMvc
+class CatalogResponseCacheFilterTest {
+
+    private static final String ORIGIN = "http://localhost:3000";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void cacheHitsKeepCorsHeadersAndContentEtag() throws Exception {
+        MvcResult miss = categories();
+        MvcResult hit = categories();
+
+        assertThat(hit.getResponse().getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN)).isEqualTo(ORIGIN);
+        assertThat(hit.getResponse().getHeaders(HttpHeaders.VARY))
+                .isEqualTo(miss.getResponse().getHeaders(HttpHeaders.VARY));
+        assertThat(hit.getResponse().getContentAsString()).isEqualTo(miss.getResponse().getContentAsString());
+        assertThat(hit.getResponse().getHeader(HttpHeaders.ETAG))
+                .isEqualTo(miss.getResponse().getHeader(HttpHeaders.ETAG))
+                .isEqualTo("\"" + DigestUtils.md5DigestAsHex(hit.getResponse().getContentAsByteArray()) + "\"");
+    }
+
+    private MvcResult categories() throws Exception {
+        return mockMvc.perform(get("/api/books/categories").header(HttpHeaders.ORIGIN, ORIGIN))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+}
@@ -0,0 +1,118 @@
+package com.library.system.dashboard;
+
+import com.library.system.dto.BookResponse;
+import com.library.system.dto.BorrowedBookResponse;
+import com.library.system.model.Book;
+import com.library.system.model.BorrowedBook;
+import com.library.system.model.User;
+import com.library.system.repository.BookRepository;
+import com.library.system.repository.BorrowedBookRepository;
+import com.library.system.repository.UserRepository;
+import com.library.system.service.BookService;
+import com.library.system.service.BorrowedBookService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Adds a book, borrows and returns loans through the services on the local profile,
+ * and checks that the dashboard snapshot follows from the events alone and matches
+ * a full recompute afterwards. Scheduled refreshes are pushed out of the way.
+ */
+@SpringBootTest(properties = {
+        "local.seed.users=5",
+        "local.seed.books=5",
+        "dashboard.refresh-interval-ms=3600000",
+        "dashboard.max-staleness-ms=3600000"
+})
+@ActiveProfiles("local")
+@AutoConfigureMockMvc
+class DashboardServiceTest {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BorrowedBookService borrowedBookService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowedBookRepository borrowedBookRepository;
+
+    @Test
+    void borrowAndReturnEventsAreAppliedToTheSnapshot() throws InterruptedException {
+        LocalDate today = LocalDate.now();
+        User borrower = user("dashboard-borrower@library.local", "8100000001");
+        User latecomer = user("dashboard-latecomer@library.local", "8100000002");
+        Book lentOut = bookRepository.save(Book.builder()
+                .title("Lent Out").author("Author").category("Dashboard")
+                .totalCopies(1).availableCopies(0).available(false)
+                .build());
+        BorrowedBook overdueLoan = borrowedBookRepository.save(BorrowedBook.builder()
+                .user(latecomer)
+                .book(lentOut)
+                .borrowDate(today.minusDays(20))
+                .returnDate(today.minusDays(6))
+                .accruedFine(60)
+                .status("Pending")
+                .build());
+        // The startup refresh may predate the seeded data
+        dashboardService.scheduledRefresh();
+        DashboardSnapshot before = dashboardService.getSnapshot();
+
+        BookResponse added = bookService.addBook(Book.builder()
+                .title("Added").author("Author").category("Dashboard")
+                .totalCopies(1).availableCopies(1).available(true)
+                .build());
+        BorrowedBookResponse borrowed = borrowedBookService.borrowBook(borrower.getId(), added.id(),
+                BorrowedBook.builder().borrowDate(today).returnDate(today.plusDays(7)).build());
+        borrowedBookService.returnBook(borrowed.id());
+        borrowedBookService.returnBook(overdueLoan.getId());
+
+        // Book added, both books available again; one loan opened, two closed, one of them overdue with a fine
+        DashboardSnapshot expected = new DashboardSnapshot(before.totalBooks() + 1, before.availableBooks() + 2,
+                before.totalUsers(), before.activeLoans() - 1, before.overdueLoans() - 1,
+                before.finesOutstanding() - 60, before.checkoutsToday() + 1, before.returnsToday() + 2,
+                before.day(), before.refreshedAt());
+        assertThat(awaitSnapshot(expected)).isEqualTo(expected);
+
+        dashboardService.scheduledRefresh();
+        DashboardSnapshot recomputed = dashboardService.getSnapshot();
+        assertThat(recomputed.refreshedAt()).isAfter(before.refreshedAt());
+        assertThat(recomputed).usingRecursiveComparison().ignoringFields("refreshedAt").isEqualTo(expected);
+    }
+
+    private User user(String email, String mobile) {
+        return userRepository.save(User.builder()
+                .name("Dashboard").email(email).password("x").role("user").mobile(mobile)
+                .build());
+    }
+
+    /**
+     * Waits for the event consumer to catch up, returning the last snapshot seen.
+     */
+    private DashboardSnapshot awaitSnapshot(DashboardSnapshot expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        DashboardSnapshot current = dashboardService.getSnapshot();
+        while (!current.equals(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            current = dashboardService.getSnapshot();
+        }
+        return current;
+    }
+}
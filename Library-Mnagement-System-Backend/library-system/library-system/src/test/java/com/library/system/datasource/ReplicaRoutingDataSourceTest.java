@@ -0,0 +1,117 @@
+package com.library.system.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes transactions between two embedded databases, each holding a marker row
+ * naming itself, and checks which one served each read.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate replicaAdmin;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private ReplicaLagMonitor lagMonitor;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = embedded("routing_primary", "primary");
+        DataSource replica = embedded("routing_replica", "replica");
+        replicaAdmin = new JdbcTemplate(replica);
+        replicaAdmin.execute("CREATE TABLE IF NOT EXISTS repl_status (lag_seconds BIGINT)");
+        replicaAdmin.update("DELETE FROM repl_status");
+        replicaAdmin.update("INSERT INTO repl_status VALUES (0)");
+
+        ReplicaProperties properties = new ReplicaProperties();
+        properties.setLagQuery("SELECT lag_seconds FROM repl_status");
+        properties.setLagColumn("lag_seconds");
+        properties.setMaxLagSeconds(5);
+        lagMonitor = new ReplicaLagMonitor(Map.of("replica-0", replica), properties);
+        lagMonitor.check();
+
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                primary, Map.of("replica-0", replica), lagMonitor, new ReadYourWritesTracker(60, 100)));
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        bindRequest("10.0.0.1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaAndOthersThePrimary() {
+        String read = readOnly.execute(status -> marker());
+        String written = readWrite.execute(status -> marker());
+
+        assertThat(read).isEqualTo("replica");
+        assertThat(written).isEqualTo("primary");
+    }
+
+    @Test
+    void readsStayOnThePrimaryAfterTheClientWrote() {
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET name = name"));
+
+        String writerRead = readOnly.execute(status -> marker());
+        assertThat(writerRead).isEqualTo("primary");
+
+        bindRequest("10.0.0.2");
+        String otherRead = readOnly.execute(status -> marker());
+        assertThat(otherRead).isEqualTo("replica");
+    }
+
+    @Test
+    void laggingReplicaIsTakenOutOfRotation() {
+        replicaAdmin.update("UPDATE repl_status SET lag_seconds = 30");
+        lagMonitor.check();
+
+        String laggingRead = readOnly.execute(status -> marker());
+        assertThat(laggingRead).isEqualTo("primary");
+
+        replicaAdmin.update("UPDATE repl_status SET lag_seconds = 1");
+        lagMonitor.check();
+
+        String caughtUpRead = readOnly.execute(status -> marker());
+        assertThat(caughtUpRead).isEqualTo("replica");
+    }
+
+    private String marker() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static void bindRequest(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static DataSource embedded(String name, String marker) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate admin = new JdbcTemplate(dataSource);
+        admin.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(20))");
+        admin.update("DELETE FROM marker");
+        admin.update("INSERT INTO marker VALUES (?)", marker);
+        return dataSource;
+    }
+}
@@ -0,0 +1,75 @@
+package com.library.system.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application on the local profile with a replica that is a separate
+ * embedded database, empty at startup, and checks that writes made through
+ * JPA during a request land on the primary.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaWriteRoutingTest.PRIMARY_URL,
+        "app.datasource.replicas.urls=" + ReplicaWriteRoutingTest.REPLICA_URL,
+        "local.seed.users=5",
+        "local.seed.books=5"
+})
+@ActiveProfiles({"local", "replica"})
+@AutoConfigureMockMvc
+class ReplicaWriteRoutingTest {
+
+    static final String PRIMARY_URL =
+            "jdbc:h2:mem:library_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL =
+            "jdbc:h2:mem:library_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1";
+
+    private static final String MOBILE = "9000000001";
+    private static final String PASSWORD_QUERY = "SELECT password FROM user WHERE mobile = ?";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void passwordResetReadsTheReplicaAndWritesThePrimary() throws Exception {
+        JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        copy(primary, replica);
+        String oldHash = primary.queryForObject(PASSWORD_QUERY, String.class, MOBILE);
+
+        mockMvc.perform(post("/api/users/reset-password")
+                        .param("mobile", MOBILE)
+                        .param("newPassword", "changed-password"))
+                .andExpect(status().isOk());
+
+        String primaryHash = primary.queryForObject(PASSWORD_QUERY, String.class, MOBILE);
+        String replicaHash = replica.queryForObject(PASSWORD_QUERY, String.class, MOBILE);
+        assertThat(primaryHash).isNotEqualTo(oldHash);
+        assertThat(replicaHash).isEqualTo(oldHash);
+    }
+
+    /**
+     * Stands in for replication: copies the primary's schema and rows to the replica.
+     */
+    private static void copy(JdbcTemplate primary, JdbcTemplate replica) throws Exception {
+        Path script = Files.createTempFile("replica", ".sql");
+        try {
+            primary.execute("SCRIPT TO '" + script + "'");
+            replica.execute("RUNSCRIPT FROM '" + script + "'");
+        } finally {
+            Files.deleteIfExists(script);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.library.system.events;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Publishes through a small ring buffer from several threads and checks what the
+ * handlers receive.
+ */
+class LibraryEventBusTest {
+
+    private LibraryEventBus bus;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (bus != null) {
+            bus.shutdown();
+        }
+    }
+
+    @Test
+    void everyHandlerSeesEveryEventInPublishOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        RecordingHandler first = new RecordingHandler("first", producers);
+        RecordingHandler second = new RecordingHandler("second", producers);
+        bus = new LibraryEventBus(List.of(first, second), 64, 5_000, 16);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    long bookId = i;
+                    bus.publish(event -> {
+                        event.setBook(LibraryEventType.BOOK_ADDED, bookId, true, true);
+                        event.setLoan(0, producer, null, null, 0, false);
+                    });
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        bus.shutdown();
+
+        for (RecordingHandler handler : List.of(first, second)) {
+            assertThat(handler.outOfOrder).isZero();
+            assertThat(handler.received).isEqualTo((long) producers * perProducer);
+            assertThat(handler.largestBatch).isLessThanOrEqualTo(16);
+        }
+        assertThat(bus.getStats()).allSatisfy(stats -> {
+            assertThat(stats.lag()).isZero();
+            assertThat(stats.dropped()).isZero();
+        });
+    }
+
+    @Test
+    void eventsAreDroppedWhenAHandlerStallsPastTheTimeout() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        LibraryEventHandler stalled = new LibraryEventHandler() {
+            @Override
+            public String getEventHandlerName() {
+                return "stalled";
+            }
+
+            @Override
+            public void onEvent(LibraryEvent event, long sequence, boolean endOfBatch) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        bus = new LibraryEventBus(List.of(stalled), 8, 20, 8);
+
+        int accepted = 0;
+        for (int i = 0; i < 12; i++) {
+            if (bus.publish(event -> event.setBook(LibraryEventType.BOOK_DELETED, 1, false, false))) {
+                accepted++;
+            }
+        }
+        release.countDown();
+
+        assertThat(accepted).isEqualTo(8);
+        assertThat(bus.getStats().get(0).dropped()).isEqualTo(12 - accepted);
+    }
+
+    @Test
+    void failingHandlerDoesNotBlockTheOthers() throws Exception {
+        LibraryEventHandler failing = new LibraryEventHandler() {
+            @Override
+            public String getEventHandlerName() {
+                return "failing";
+            }
+
+            @Override
+            public void onEvent(LibraryEvent event, long sequence, boolean endOfBatch) {
+                throw new IllegalStateException("boom");
+            }
+        };
+        RecordingHandler healthy = new RecordingHandler("healthy", 1);
+        bus = new LibraryEventBus(List.of(failing, healthy), 16, 1_000, 16);
+
+        for (int i = 0; i < 100; i++) {
+            long bookId = i;
+            assertThat(bus.publish(event -> event.setBook(LibraryEventType.BOOK_ADDED, bookId, true, true))).isTrue();
+        }
+        bus.shutdown();
+
+        assertThat(healthy.received).isEqualTo(100);
+        assertThat(bus.getStats().get(0).errors()).isEqualTo(100);
+    }
+
+    @Test
+    void idleConsumersAreWokenByPublish() throws Exception {
+        CountDownLatch delivered = new CountDownLatch(1);
+        LibraryEventHandler handler = new LibraryEventHandler() {
+            @Override
+            public String getEventHandlerName() {
+                return "latch";
+            }
+
+            @Override
+            public void onEvent(LibraryEvent event, long sequence, boolean endOfBatch) {
+                delivered.countDown();
+            }
+        };
+        bus = new LibraryEventBus(List.of(handler), 16, 1_000, 16);
+        Thread.sleep(200);
+
+        int prompt = 0;
+        for (int i = 0; i < 20; i++) {
+            Thread.sleep(50);
+            long started = System.nanoTime();
+            bus.publish(event -> event.setBook(LibraryEventType.BOOK_ADDED, 1, true, true));
+            while (bus.getStats().get(0).lag() > 0) {
+                Thread.onSpinWait();
+            }
+            if (System.nanoTime() - started < TimeUnit.MILLISECONDS.toNanos(5)) {
+                prompt++;
+            }
+        }
+
+        assertThat(delivered.getCount()).isZero();
+        assertThat(prompt).isGreaterThan(10);
+    }
+
+    /**
+     * Counts events and checks that each producer's events arrive in the order published,
+     * using the user ID as the producer and the book ID as its counter.
+     */
+    private static final class RecordingHandler implements LibraryEventHandler {
+
+        private final String name;
+        private final long[] lastBookId;
+        private long received;
+        private long outOfOrder;
+        private int batch;
+        private int largestBatch;
+
+        private RecordingHandler(String name, int producers) {
+            this.name = name;
+            this.lastBookId = new long[producers];
+            Arrays.fill(lastBookId, -1);
+        }
+
+        @Override
+        public String getEventHandlerName() {
+            return name;
+        }
+
+        @Override
+        public void onEvent(LibraryEvent event, long sequence, boolean endOfBatch) {
+            int producer = (int) event.getUserId();
+            if (event.getBookId() != lastBookId[producer] + 1) {
+                outOfOrder++;
+            }
+            lastBookId[producer] = event.getBookId();
+            received++;
+            batch++;
+            if (endOfBatch) {
+                largestBatch = Math.max(largestBatch, batch);
+                batch = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.library.system.loadshed;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Feeds the limiter synthetic measurement windows and checks how its limit and
+ * admission per priority class respond.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(40);
+        properties.setMinLimit(4);
+        properties.setMaxLimit(100);
+        properties.setWindowMs(100);
+        properties.setMinWindowSamples(10);
+        properties.setLongWindows(100);
+        limiter = new AdaptiveConcurrencyLimiter(properties);
+        now = System.nanoTime();
+    }
+
+    @Test
+    void lowerPriorityClassesAreShedFirst() {
+        int dashboard = admitAll(PriorityClass.DASHBOARD);
+        int browse = admitAll(PriorityClass.BROWSE);
+        int critical = admitAll(PriorityClass.CRITICAL);
+
+        assertThat(dashboard).isEqualTo(20);
+        assertThat(dashboard + browse).isEqualTo(30);
+        assertThat(dashboard + browse + critical).isEqualTo(40);
+        assertThat(limiter.getStats().rejected())
+                .containsEntry(PriorityClass.DASHBOARD, 1L)
+                .containsEntry(PriorityClass.BROWSE, 1L)
+                .containsEntry(PriorityClass.CRITICAL, 1L);
+    }
+
+    @Test
+    void limitShrinksWhenLatencyRisesAndRecoversAfterwards() {
+        for (int i = 0; i < 20; i++) {
+            window(limiter.getStats().limit(), 5, false);
+        }
+        int steady = limiter.getStats().limit();
+        assertThat(steady).isGreaterThan(40);
+
+        for (int i = 0; i < 15; i++) {
+            window(limiter.getStats().limit(), 50, false);
+        }
+        int degraded = limiter.getStats().limit();
+        assertThat(degraded).isLessThan(steady / 2);
+
+        for (int i = 0; i < 40; i++) {
+            window(limiter.getStats().limit(), 5, false);
+        }
+        assertThat(limiter.getStats().limit()).isGreaterThan(degraded);
+    }
+
+    @Test
+    void limitDoesNotGrowWhileMostlyIdle() {
+        for (int i = 0; i < 20; i++) {
+            window(10, 5, false);
+        }
+        assertThat(limiter.getStats().limit()).isEqualTo(40);
+    }
+
+    @Test
+    void serverErrorsBackOffTheLimit() {
+        for (int i = 0; i < 5; i++) {
+            window(limiter.getStats().limit(), 5, true);
+        }
+        assertThat(limiter.getStats().limit()).isLessThan(40);
+    }
+
+    private int admitAll(PriorityClass priority) {
+        int admitted = 0;
+        while (limiter.tryAcquire(priority)) {
+            admitted++;
+        }
+        return admitted;
+    }
+
+    /**
+     * Runs one measurement window of concurrent requests with the given latency;
+     * the last one to finish closes the window and fails if {@code error} is set.
+     */
+    private void window(int requests, long rttMs, boolean error) {
+        long rttNanos = TimeUnit.MILLISECONDS.toNanos(rttMs);
+        for (int i = 0; i < requests; i++) {
+            assertThat(limiter.tryAcquire(PriorityClass.CRITICAL)).isTrue();
+        }
+        for (int i = 0; i < requests - 1; i++) {
+            limiter.release(rttNanos, false, now);
+        }
+        now += TimeUnit.MILLISECONDS.toNanos(100);
+        limiter.release(rttNanos, error, now);
+    }
+}
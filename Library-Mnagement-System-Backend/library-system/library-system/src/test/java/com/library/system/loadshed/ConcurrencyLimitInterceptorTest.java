@@ -0,0 +1,50 @@
+package com.library.system.loadshed;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs async logins through the interceptor on the local profile and checks
+ * that each one gives its permit back.
+ */
+@SpringBootTest(properties = {"local.seed.users=5", "local.seed.books=5"})
+@ActiveProfiles("local")
+@AutoConfigureMockMvc
+class ConcurrencyLimitInterceptorTest {
+
+    private static final String LOGIN = "{\"email\":\"reader1@library.local\",\"password\":\"password\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Test
+    void asyncLoginsReleaseTheirPermits() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MvcResult started = mockMvc.perform(post("/api/users/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(LOGIN))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            assertThat(limiter.getStats().inFlight()).isEqualTo(1);
+
+            mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+        }
+
+        assertThat(limiter.getStats().inFlight()).isZero();
+    }
+}
@@ -0,0 +1,83 @@
+package com.library.system.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects latency samples and error counts for one endpoint.
+ */
+final class LatencyRecorder {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long[] samplesMicros = new long[1024];
+    private int count;
+    private long errors;
+
+    /**
+     * Records one completed request.
+     *
+     * @param latencyMicros time from the intended send time to the response
+     * @param error whether the request failed or returned a non-2xx status
+     */
+    void record(long latencyMicros, boolean error) {
+        lock.lock();
+        try {
+            if (count == samplesMicros.length) {
+                samplesMicros = Arrays.copyOf(samplesMicros, count * 2);
+            }
+            samplesMicros[count++] = latencyMicros;
+            if (error) {
+                errors++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Summarizes the recorded samples.
+     *
+     * @param endpoint the endpoint name
+     * @param measuredSeconds the length of the measurement window
+     * @return the summary
+     */
+    EndpointStats summarize(String endpoint, double measuredSeconds) {
+        long[] sorted;
+        long errorCount;
+        lock.lock();
+        try {
+            sorted = Arrays.copyOf(samplesMicros, count);
+            errorCount = errors;
+        } finally {
+            lock.unlock();
+        }
+        Arrays.sort(sorted);
+        return new EndpointStats(endpoint, sorted.length, errorCount, sorted.length / measuredSeconds,
+                percentileMs(sorted, 0.50), percentileMs(sorted, 0.95), percentileMs(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1000.0);
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1000.0;
+    }
+
+    /**
+     * Latency and throughput of one endpoint.
+     *
+     * @param endpoint the method and path template
+     * @param requests number of completed requests
+     * @param errors number of failed or non-2xx requests
+     * @param throughput completed requests per second
+     * @param p50Ms median latency in milliseconds
+     * @param p95Ms 95th percentile latency in milliseconds
+     * @param p99Ms 99th percentile latency in milliseconds
+     * @param maxMs maximum latency in milliseconds
+     */
+    record EndpointStats(String endpoint, long requests, long errors, double throughput,
+                         double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.library.system.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two {@link LoadGenerator} reports endpoint by endpoint, e.g. a
+ * platform-thread run against a virtual-thread run at the same offered rate.
+ *
+ * Usage: {@code mvn -Ploadtest test-compile exec:java -Dexec.mainClass=com.library.system.loadtest.LoadComparison
+ * -Dexec.args="target/platform.json target/virtual.json"}
+ */
+public final class LoadComparison {
+
+    private LoadComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: LoadComparison <baseline.json> <candidate.json>");
+            System.exit(1);
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode baseline = objectMapper.readTree(new File(args[0]));
+        JsonNode candidate = objectMapper.readTree(new File(args[1]));
+        Map<String, JsonNode> baselineByEndpoint = byEndpoint(baseline);
+
+        System.out.printf("%s (%s req/s) vs %s (%s req/s)%n",
+                baseline.path("label").asText(), baseline.path("offeredRate").asText(),
+                candidate.path("label").asText(), candidate.path("offeredRate").asText());
+        System.out.printf("%-48s %19s %19s %19s %15s%n", "endpoint", "req/s", "p50 ms", "p99 ms", "errors");
+        for (Map.Entry<String, JsonNode> entry : byEndpoint(candidate).entrySet()) {
+            JsonNode before = baselineByEndpoint.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            if (before == null) {
+                continue;
+            }
+            System.out.printf("%-48s %19s %19s %19s %15s%n", entry.getKey(),
+                    change(before, after, "throughput"), change(before, after, "p50Ms"),
+                    change(before, after, "p99Ms"),
+                    before.path("errors").asLong() + " -> " + after.path("errors").asLong());
+        }
+    }
+
+    private static Map<String, JsonNode> byEndpoint(JsonNode report) {
+        Map<String, JsonNode> endpoints = new LinkedHashMap<>();
+        for (JsonNode endpoint : report.path("endpoints")) {
+            endpoints.put(endpoint.path("endpoint").asText(), endpoint);
+        }
+        return endpoints;
+    }
+
+    private static String change(JsonNode before, JsonNode after, String field) {
+        double a = before.path(field).asDouble();
+        double b = after.path(field).asDouble();
+        String delta = a == 0 ? "n/a" : String.format("%+.0f%%", (b - a) * 100 / a);
+        return String.format("%.1f->%.1f %s", a, b, delta);
+    }
+}
@@ -0,0 +1,316 @@
+package com.library.system.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Open-model load generator for the library backend.
+ *
+ * Requests are started at a fixed rate regardless of how fast responses come back,
+ * and latency is measured from each request's intended start time, so a slow server
+ * shows up as latency instead of silently lowering the offered load.
+ *
+ * Scenarios: browse (catalog reads), borrow, return (of loans borrowed during the run),
+ * login, dashboard (the admin dashboard counts) and catalog (the full book list, not in
+ * the default mix). Throughput and p50/p95/p99 latency are reported per endpoint and
+ * written as JSON, along with the response bytes received, so runs with and without
+ * compression or HTTP/2 can be compared.
+ *
+ * Start the application with the {@code local} profile, then run
+ * {@code mvn -Ploadtest test-compile exec:java} with any of these system properties:
+ * <ul>
+ *   <li>{@code load.base-url} (default {@code http://localhost:8080})</li>
+ *   <li>{@code load.rate} requests started per second (default 100)</li>
+ *   <li>{@code load.duration-seconds} measured duration (default 60)</li>
+ *   <li>{@code load.warmup-seconds} unmeasured warm-up (default 10)</li>
+ *   <li>{@code load.mix} scenario weights (default {@code browse=50,borrow=15,return=15,login=10,dashboard=10})</li>
+ *   <li>{@code load.users} / {@code load.books} seeded IDs to pick from (default 200 / 500)</li>
+ *   <li>{@code load.http2} negotiate HTTP/2, cleartext h2c for http URLs (default false)</li>
+ *   <li>{@code load.gzip} send {@code Accept-Encoding: gzip} (default false)</li>
+ *   <li>{@code load.label} name of the run in the report (default {@code default})</li>
+ *   <li>{@code load.result} JSON report path (default {@code target/loadtest-result.json})</li>
+ * </ul>
+ */
+public final class LoadGenerator {
+
+    private static final String[] CATEGORIES = {"Fiction", "Science", "History", "Technology", "Biography"};
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final int users;
+    private final int books;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+    private final Queue<Long> returnableLoans = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final boolean gzip;
+    private volatile boolean measuring;
+
+    private LoadGenerator(HttpClient client, String baseUrl, int users, int books, boolean gzip) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.books = books;
+        this.gzip = gzip;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("load.base-url", "http://localhost:8080");
+        double rate = Double.parseDouble(System.getProperty("load.rate", "100"));
+        int durationSeconds = Integer.getInteger("load.duration-seconds", 60);
+        int warmupSeconds = Integer.getInteger("load.warmup-seconds", 10);
+        Map<String, Integer> mix = parseMix(System.getProperty("load.mix",
+                "browse=50,borrow=15,return=15,login=10,dashboard=10"));
+        String label = System.getProperty("load.label", "default");
+        Path result = Path.of(System.getProperty("load.result", "target/loadtest-result.json"));
+        boolean http2 = Boolean.getBoolean("load.http2");
+        boolean gzip = Boolean.getBoolean("load.gzip");
+
+        ExecutorService callbacks = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+                .executor(callbacks)
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .build();
+        LoadGenerator generator = new LoadGenerator(client, baseUrl,
+                Integer.getInteger("load.users", 200), Integer.getInteger("load.books", 500), gzip);
+
+        System.out.printf("Offering %.0f req/s to %s for %ds (+%ds warm-up), mix %s, http2=%s, gzip=%s%n",
+                rate, baseUrl, durationSeconds, warmupSeconds, mix, http2, gzip);
+        generator.run(rate, warmupSeconds, durationSeconds, mix);
+
+        List<LatencyRecorder.EndpointStats> stats = generator.summarize(durationSeconds);
+        long bytes = generator.bytesReceived.sum();
+        printReport(stats);
+        System.out.printf("Received %.1f MB of response bodies (%.1f KB/s)%n",
+                bytes / 1048576.0, bytes / 1024.0 / durationSeconds);
+        writeReport(result, label, rate, durationSeconds, bytes, stats);
+        System.out.println("Report written to " + result.toAbsolutePath());
+        callbacks.shutdownNow();
+    }
+
+    /**
+     * Starts scenarios at a fixed rate, then waits for outstanding requests.
+     */
+    private void run(double rate, int warmupSeconds, int durationSeconds, Map<String, Integer> mix)
+            throws InterruptedException {
+        String[] wheel = buildWheel(mix);
+        long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * periodNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            measuring = intended >= measureFrom;
+            runScenario(wheel[ThreadLocalRandom.current().nextInt(wheel.length)], intended);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private void runScenario(String scenario, long intended) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (scenario) {
+            case "browse" -> {
+                switch (random.nextInt(3)) {
+                    case 0 -> get("GET /api/books/available", "/api/books/available", intended);
+                    case 1 -> get("GET /api/books/category/{category}",
+                            "/api/books/category/" + CATEGORIES[random.nextInt(CATEGORIES.length)], intended);
+                    default -> get("GET /api/books/{id}", "/api/books/" + (1 + random.nextInt(books)), intended);
+                }
+            }
+            case "borrow" -> borrow(intended);
+            case "return" -> {
+                Long loanId = returnableLoans.poll();
+                if (loanId == null) {
+                    borrow(intended);
+                } else {
+                    send("PUT /api/borrow/return/{borrowId}", HttpRequest.newBuilder(uri("/api/borrow/return/" + loanId))
+                            .PUT(HttpRequest.BodyPublishers.noBody()).build(), intended, null);
+                }
+            }
+            case "login" -> {
+                String body = "{\"email\":\"reader" + (1 + random.nextInt(users))
+                        + "@library.local\",\"password\":\"password\"}";
+                send("POST /api/users/login", jsonPost("/api/users/login", body), intended, null);
+            }
+            case "dashboard" -> {
+                get("GET /api/books/count", "/api/books/count", intended);
+                get("GET /api/books/count/available", "/api/books/count/available", intended);
+                get("GET /api/borrow/count/borrowed", "/api/borrow/count/borrowed", intended);
+            }
+            case "catalog" -> get("GET /api/books/all", "/api/books/all", intended);
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        }
+    }
+
+    private void borrow(long intended) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate today = LocalDate.now();
+        String body = "{\"borrowDate\":\"" + today + "\",\"returnDate\":\"" + today.plusDays(14) + "\"}";
+        String path = "/api/borrow/user/" + (2 + random.nextInt(users)) + "/book/" + (1 + random.nextInt(books));
+        send("POST /api/borrow/user/{userId}/book/{bookId}", jsonPost(path, body), intended, responseBody -> {
+            try {
+                long id = objectMapper.readTree(responseBody).path("id").asLong();
+                if (id > 0) {
+                    returnableLoans.add(id);
+                }
+            } catch (IOException ignored) {
+                // Not a borrow record; nothing to return later
+            }
+        });
+    }
+
+    private void get(String endpoint, String path, long intended) {
+        send(endpoint, HttpRequest.newBuilder(uri(path)).GET().build(), intended, null);
+    }
+
+    private HttpRequest jsonPost(String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    /**
+     * Sends a request asynchronously and records its latency from the intended start time.
+     */
+    private void send(String endpoint, HttpRequest request, long intended, Consumer<String> onSuccess) {
+        boolean measured = measuring;
+        if (gzip) {
+            request = HttpRequest.newBuilder(request, (name, value) -> true)
+                    .header("Accept-Encoding", "gzip")
+                    .build();
+        }
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, failure) -> {
+                    long latencyMicros = (System.nanoTime() - intended) / 1000;
+                    boolean error = failure != null || response.statusCode() >= 300;
+                    if (measured) {
+                        recorders.computeIfAbsent(endpoint, e -> new LatencyRecorder()).record(latencyMicros, error);
+                        if (failure == null) {
+                            bytesReceived.add(response.body().length);
+                        }
+                    }
+                    if (!error && onSuccess != null) {
+                        onSuccess.accept(decode(response));
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    /**
+     * Decodes a response body as UTF-8, inflating it first if the server gzipped it.
+     */
+    private static String decode(HttpResponse<byte[]> response) {
+        if (!response.headers().firstValue("Content-Encoding").orElse("").equalsIgnoreCase("gzip")) {
+            return new String(response.body(), StandardCharsets.UTF_8);
+        }
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private List<LatencyRecorder.EndpointStats> summarize(double measuredSeconds) {
+        List<LatencyRecorder.EndpointStats> stats = new ArrayList<>();
+        recorders.forEach((endpoint, recorder) -> stats.add(recorder.summarize(endpoint, measuredSeconds)));
+        stats.sort((a, b) -> a.endpoint().compareTo(b.endpoint()));
+        return stats;
+    }
+
+    private static void printReport(List<LatencyRecorder.EndpointStats> stats) {
+        System.out.printf("%-48s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (LatencyRecorder.EndpointStats s : stats) {
+            System.out.printf("%-48s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    s.endpoint(), s.requests(), s.errors(), s.throughput(), s.p50Ms(), s.p95Ms(), s.p99Ms(), s.maxMs());
+        }
+    }
+
+    private static void writeReport(Path result, String label, double rate, int durationSeconds, long bytesReceived,
+                                    List<LatencyRecorder.EndpointStats> stats) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("offeredRate", rate);
+        report.put("durationSeconds", durationSeconds);
+        report.put("bytesReceived", bytesReceived);
+        report.put("endpoints", stats);
+        if (result.getParent() != null) {
+            Files.createDirectories(result.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(result.toFile(), report);
+    }
+
+    /**
+     * Expands scenario weights into a lookup table for weighted random selection.
+     */
+    private static String[] buildWheel(Map<String, Integer> mix) {
+        List<String> wheel = new ArrayList<>();
+        mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(scenario);
+            }
+        });
+        if (wheel.isEmpty()) {
+            throw new IllegalArgumentException("load.mix has no positive weights");
+        }
+        return wheel.toArray(String[]::new);
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] pair = part.split("=");
+            weights.put(pair[0].strip(), Integer.parseInt(pair[1].strip()));
+        }
+        return weights;
+    }
+}
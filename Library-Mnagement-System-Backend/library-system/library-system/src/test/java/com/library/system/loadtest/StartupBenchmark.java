@@ -0,0 +1,172 @@
+package com.library.system.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures time-to-first-request of the application.
+ *
+ * Each run starts the application as a child process, polls an endpoint until it answers
+ * with a 2xx status, and records the time from process start to that first successful
+ * response, along with the startup time Spring Boot logs and the process RSS at that point.
+ * The process is then stopped and the next run starts, so every run is a cold start.
+ *
+ * Build the jar (plain, or with {@code -Paot} for AOT and CDS), then run
+ * {@code mvn -Ploadtest test-compile exec:java -Dexec.mainClass=com.library.system.loadtest.StartupBenchmark}
+ * with any of these system properties:
+ * <ul>
+ *   <li>{@code startup.command} the command line starting the application, space separated
+ *       (default {@code java -jar target/library-system-0.0.1-SNAPSHOT.jar})</li>
+ *   <li>{@code startup.url} the endpoint polled (default {@code http://localhost:8080/api/books/count})</li>
+ *   <li>{@code startup.runs} number of cold starts (default 5)</li>
+ *   <li>{@code startup.timeout-seconds} maximum time to wait for one start (default 120)</li>
+ *   <li>{@code startup.label} name of the run in the report (default {@code default})</li>
+ *   <li>{@code startup.result} JSON report path (default {@code target/startup-result.json})</li>
+ * </ul>
+ * Run once per build variant with different labels and results to compare them.
+ */
+public final class StartupBenchmark {
+
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> command = Arrays.asList(System.getProperty("startup.command",
+                "java -jar target/library-system-0.0.1-SNAPSHOT.jar").trim().split("\\s+"));
+        URI url = URI.create(System.getProperty("startup.url", "http://localhost:8080/api/books/count"));
+        int runs = Integer.getInteger("startup.runs", 5);
+        long timeoutNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("startup.timeout-seconds", 120));
+        String label = System.getProperty("startup.label", "default");
+        Path result = Path.of(System.getProperty("startup.result", "target/startup-result.json"));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(500)).build();
+        List<RunResult> results = new ArrayList<>();
+        System.out.printf("Measuring %d cold starts of: %s%n", runs, String.join(" ", command));
+        for (int i = 1; i <= runs; i++) {
+            RunResult run = measure(command, client, url, timeoutNanos);
+            results.add(run);
+            System.out.printf("run %d: first request after %d ms (Spring reported %.0f ms), RSS %d MB%n",
+                    i, run.firstRequestMs(), run.reportedStartupMs(), run.rssKb() / 1024);
+        }
+
+        List<Long> times = results.stream().map(RunResult::firstRequestMs).sorted().toList();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("command", String.join(" ", command));
+        report.put("minFirstRequestMs", times.get(0));
+        report.put("medianFirstRequestMs", times.get(times.size() / 2));
+        report.put("maxFirstRequestMs", times.get(times.size() - 1));
+        report.put("runs", results);
+        if (result.getParent() != null) {
+            Files.createDirectories(result.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(result.toFile(), report);
+        System.out.printf("Median time-to-first-request %d ms; report written to %s%n",
+                times.get(times.size() / 2), result.toAbsolutePath());
+    }
+
+    /**
+     * Starts the application once and waits for its first successful response.
+     */
+    private static RunResult measure(List<String> command, HttpClient client, URI url, long timeoutNanos)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        AtomicLong reportedMicros = new AtomicLong(-1);
+        Thread logReader = new Thread(() -> readLog(process, reportedMicros), "startup-log");
+        logReader.setDaemon(true);
+        logReader.start();
+
+        try {
+            HttpRequest request = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(5)).GET().build();
+            while (System.nanoTime() - start < timeoutNanos) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with status " + process.exitValue());
+                }
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() / 100 == 2) {
+                        long firstRequestMs = (System.nanoTime() - start) / 1_000_000;
+                        return new RunResult(firstRequestMs, reportedMicros.get() / 1000.0, readRssKb(process.pid()));
+                    }
+                } catch (IOException notListeningYet) {
+                    // Connection refused until the server is up
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No successful response from " + url + " within the timeout");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * Drains the application output and picks up the startup time Spring Boot logs.
+     */
+    private static void readLog(Process process, AtomicLong reportedMicros) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = STARTED.matcher(line);
+                if (matcher.find()) {
+                    reportedMicros.set((long) (Double.parseDouble(matcher.group(1)) * 1_000_000));
+                }
+            }
+        } catch (IOException ignored) {
+            // The process was stopped
+        }
+    }
+
+    /**
+     * Reads the resident set size of a process from /proc; -1 where that is not available.
+     */
+    public static long readRssKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D+", ""));
+                }
+            }
+        } catch (IOException | RuntimeException ignored) {
+            // Not Linux, or the process is gone
+        }
+        return -1;
+    }
+
+    /**
+     * One cold start.
+     *
+     * @param firstRequestMs time from process start to the first successful response
+     * @param reportedStartupMs startup time logged by Spring Boot, or negative if not seen
+     * @param rssKb resident set size after the first response in KB, or -1 if unknown
+     */
+    public record RunResult(long firstRequestMs, double reportedStartupMs, long rssKb) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.library.system.otp;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the database OTP store on the local profile: send limits under concurrent
+ * requests, a row created by another node while this one was inserting it, and
+ * verification of expired and repeatedly mistyped OTPs.
+ */
+@SpringBootTest(properties = {"local.seed.users=5", "local.seed.books=5", "otp.store=database"})
+@ActiveProfiles("local")
+@AutoConfigureMockMvc
+class DatabaseOtpStoreTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(900);
+
+    @Autowired
+    private OtpStore otpStore;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void theDatabaseStoreIsUsed() {
+        assertThat(otpStore).isInstanceOf(DatabaseOtpStore.class);
+    }
+
+    @Test
+    void concurrentSendsForANewNumberStayWithinTheLimit() throws Exception {
+        int requests = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Duration>> results = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return otpStore.tryRegisterSend("8400000001", 3, WINDOW);
+                }));
+            }
+            start.countDown();
+
+            int allowed = 0;
+            for (Future<Duration> result : results) {
+                Duration wait = result.get(30, TimeUnit.SECONDS);
+                if (wait.isZero()) {
+                    allowed++;
+                } else {
+                    assertThat(wait).isPositive().isLessThanOrEqualTo(WINDOW);
+                }
+            }
+            assertThat(allowed).isEqualTo(3);
+            assertThat(sends("8400000001")).isEqualTo(3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void aRowInsertedByAnotherNodeFirstIsLockedAndUsed() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (Connection otherNode = dataSource.getConnection()) {
+            otherNode.setAutoCommit(false);
+            try (PreparedStatement insert = otherNode.prepareStatement(
+                    "INSERT INTO otp_entry (mobile, attempts, sends) VALUES (?, 0, 0)")) {
+                insert.setString(1, "8400000002");
+                insert.executeUpdate();
+            }
+
+            // The row is not visible yet, so this node inserts it too and waits on the other node's key
+            Future<Duration> result = executor.submit(() -> otpStore.tryRegisterSend("8400000002", 1, WINDOW));
+            Thread.sleep(200);
+            otherNode.commit();
+
+            assertThat(result.get(30, TimeUnit.SECONDS)).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(sends("8400000002")).isEqualTo(1);
+        assertThat(otpStore.tryRegisterSend("8400000002", 1, WINDOW)).isPositive();
+    }
+
+    @Test
+    void rejectedSendsReportTheTimeLeftInTheWindow() throws Exception {
+        assertThat(otpStore.tryRegisterSend("8400000003", 1, WINDOW)).isZero();
+        Thread.sleep(50);
+        Duration wait = otpStore.tryRegisterSend("8400000003", 1, WINDOW);
+
+        assertThat(wait).isLessThanOrEqualTo(WINDOW.minusMillis(50)).isGreaterThan(WINDOW.minusSeconds(5));
+    }
+
+    @Test
+    void expiredOtpsAreNotAccepted() throws Exception {
+        otpStore.store("8400000004", "123456", Instant.now().plusMillis(50));
+        Thread.sleep(100);
+
+        assertThat(otpStore.verify("8400000004", "123456", 5)).isEqualTo(OtpStore.VerifyResult.NOT_FOUND);
+    }
+
+    @Test
+    void tooManyWrongAttemptsInvalidateTheOtp() {
+        otpStore.store("8400000005", "123456", Instant.now().plusSeconds(120));
+
+        assertThat(otpStore.verify("8400000005", "000000", 2)).isEqualTo(OtpStore.VerifyResult.MISMATCH);
+        assertThat(otpStore.verify("8400000005", "000001", 2)).isEqualTo(OtpStore.VerifyResult.TOO_MANY_ATTEMPTS);
+        assertThat(otpStore.verify("8400000005", "123456", 2)).isEqualTo(OtpStore.VerifyResult.NOT_FOUND);
+
+        otpStore.store("8400000005", "654321", Instant.now().plusSeconds(120));
+        assertThat(otpStore.verify("8400000005", "654321", 2)).isEqualTo(OtpStore.VerifyResult.MATCH);
+        assertThat(otpStore.verify("8400000005", "654321", 2)).isEqualTo(OtpStore.VerifyResult.NOT_FOUND);
+    }
+
+    private int sends(String mobile) {
+        return jdbcTemplate.queryForObject("SELECT sends FROM otp_entry WHERE mobile = ?", Integer.class, mobile);
+    }
+}
@@ -0,0 +1,81 @@
+package com.library.system.otp;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Registers OTP sends past the limit and checks the reported wait, and verifies
+ * OTPs past their expiry and after too many wrong attempts.
+ */
+class InMemoryOtpStoreTest {
+
+    private final InMemoryOtpStore store = new InMemoryOtpStore();
+
+    @Test
+    void rejectedSendsReportTheTimeLeftInTheWindow() throws Exception {
+        Duration window = Duration.ofSeconds(900);
+
+        assertThat(store.tryRegisterSend("9000000001", 2, window)).isZero();
+        assertThat(store.tryRegisterSend("9000000001", 2, window)).isZero();
+        Thread.sleep(50);
+        Duration wait = store.tryRegisterSend("9000000001", 2, window);
+
+        assertThat(wait).isPositive().isLessThan(window);
+        assertThat(wait).isLessThanOrEqualTo(window.minusMillis(50)).isGreaterThan(window.minusSeconds(5));
+        assertThat(store.tryRegisterSend("9000000002", 2, window)).isZero();
+    }
+
+    @Test
+    void sendsAreAllowedAgainOnceTheWindowEnds() throws Exception {
+        Duration window = Duration.ofMillis(100);
+
+        assertThat(store.tryRegisterSend("9000000001", 1, window)).isZero();
+        assertThat(store.tryRegisterSend("9000000001", 1, window)).isPositive();
+        Thread.sleep(150);
+
+        assertThat(store.tryRegisterSend("9000000001", 1, window)).isZero();
+    }
+
+    @Test
+    void otpsAreConsumedOnMatch() {
+        store.store("9000000001", "123456", Instant.now().plusSeconds(120));
+
+        assertThat(store.verify("9000000001", "123456", 5)).isEqualTo(OtpStore.VerifyResult.MATCH);
+        assertThat(store.verify("9000000001", "123456", 5)).isEqualTo(OtpStore.VerifyResult.NOT_FOUND);
+    }
+
+    @Test
+    void expiredOtpsAreNotAccepted() throws Exception {
+        store.store("9000000001", "123456", Instant.now().plusMillis(50));
+        Thread.sleep(100);
+
+        assertThat(store.verify("9000000001", "123456", 5)).isEqualTo(OtpStore.VerifyResult.NOT_FOUND);
+        store.sweep();
+        store.store("9000000001", "654321", Instant.now().plusSeconds(120));
+        assertThat(store.verify("9000000001", "654321", 5)).isEqualTo(OtpStore.VerifyResult.MATCH);
+    }
+
+    @Test
+    void tooManyWrongAttemptsInvalidateTheOtp() {
+        store.store("9000000001", "123456", Instant.now().plusSeconds(120));
+
+        assertThat(store.verify("9000000001", "000000", 3)).isEqualTo(OtpStore.VerifyResult.MISMATCH);
+        assertThat(store.verify("9000000001", "000001", 3)).isEqualTo(OtpStore.VerifyResult.MISMATCH);
+        assertThat(store.verify("9000000001", "000002", 3)).isEqualTo(OtpStore.VerifyResult.TOO_MANY_ATTEMPTS);
+        assertThat(store.verify("9000000001", "123456", 3)).isEqualTo(OtpStore.VerifyResult.NOT_FOUND);
+    }
+
+    @Test
+    void storingANewOtpResetsTheAttempts() {
+        store.store("9000000001", "123456", Instant.now().plusSeconds(120));
+        store.verify("9000000001", "000000", 2);
+        store.store("9000000001", "654321", Instant.now().plusSeconds(120));
+
+        assertThat(store.verify("9000000001", "000000", 2)).isEqualTo(OtpStore.VerifyResult.MISMATCH);
+        assertThat(store.verify("9000000001", "654321", 2)).isEqualTo(OtpStore.VerifyResult.MATCH);
+    }
+}
@@ -0,0 +1,51 @@
+package com.library.system.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the limiter past its bucket limit and checks that keys keep buckets of their own.
+ */
+class RateLimiterTest {
+
+    private RateLimiter limiter;
+    private RateLimitProperties.Rule rule;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxBuckets(10);
+        limiter = new RateLimiter(properties);
+        rule = new RateLimitProperties.Rule();
+        rule.setName("login");
+        rule.setCapacity(1);
+        rule.setRefillPerSecond(0.001);
+    }
+
+    @Test
+    void newKeysBeyondTheLimitGetTheirOwnBuckets() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire(rule, "10.0.0." + i)).as("first request of key %d", i).isZero();
+        }
+
+        assertThat(limiter.getBucketCount()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void recentlyUsedKeysKeepTheirLimit() {
+        assertThat(limiter.tryAcquire(rule, "10.0.1.1")).isZero();
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire(rule, "10.0.0." + i);
+        }
+        assertThat(limiter.tryAcquire(rule, "10.0.1.1")).isPositive();
+
+        for (int i = 5; i < 10; i++) {
+            limiter.tryAcquire(rule, "10.0.0." + i);
+        }
+
+        assertThat(limiter.getBucketCount()).isLessThanOrEqualTo(10);
+        assertThat(limiter.tryAcquire(rule, "10.0.1.1")).isPositive();
+    }
+}
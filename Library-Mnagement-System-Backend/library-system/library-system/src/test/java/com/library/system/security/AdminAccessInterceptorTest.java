@@ -0,0 +1,44 @@
+package com.library.system.security;
+
+import com.library.system.util.JwtUtil;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Calls an admin endpoint on the local profile without a token, as a regular
+ * user and as an admin.
+ */
+@SpringBootTest(properties = {"local.seed.users=5", "local.seed.books=5"})
+@ActiveProfiles("local")
+@AutoConfigureMockMvc
+class AdminAccessInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void adminEndpointsRequireAnAdminToken() throws Exception {
+        mockMvc.perform(get("/api/admin/concurrency"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/api/admin/concurrency").header(HttpHeaders.AUTHORIZATION,
+                        "Bearer " + jwtUtil.generateToken("reader1@library.local", 2L, "user")))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/admin/concurrency").header(HttpHeaders.AUTHORIZATION,
+                        "Bearer " + jwtUtil.generateToken("admin@library.local", 1L, "admin")))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,80 @@
+package com.library.system.service;
+
+import com.library.system.model.BorrowedBook;
+import com.library.system.model.ReminderLog;
+import com.library.system.repository.BookRepository;
+import com.library.system.repository.BorrowedBookRepository;
+import com.library.system.repository.ReminderLogRepository;
+import com.library.system.repository.UserRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the cleanup job on the local profile and checks that old returned
+ * records are deleted together with their reminder log rows.
+ */
+@SpringBootTest(properties = {"local.seed.users=5", "local.seed.books=5"})
+@ActiveProfiles("local")
+@AutoConfigureMockMvc
+class BorrowedBookCleanupServiceTest {
+
+    @Autowired
+    private BorrowedBookCleanupService cleanupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowedBookRepository borrowedBookRepository;
+
+    @Autowired
+    private ReminderLogRepository reminderLogRepository;
+
+    @Test
+    void oldReturnedRecordsAreDeletedWithTheirReminders() {
+        BorrowedBook old = returnedLoan(LocalDate.now().minusDays(10));
+        BorrowedBook recent = returnedLoan(LocalDate.now());
+        ReminderLog oldReminder = remind(old);
+        ReminderLog recentReminder = remind(recent);
+
+        cleanupService.deleteOldReturnedBooks();
+
+        assertThat(borrowedBookRepository.existsById(old.getId())).isFalse();
+        assertThat(reminderLogRepository.existsById(oldReminder.getId())).isFalse();
+        assertThat(borrowedBookRepository.existsById(recent.getId())).isTrue();
+        assertThat(reminderLogRepository.existsById(recentReminder.getId())).isTrue();
+    }
+
+    private BorrowedBook returnedLoan(LocalDate returnDate) {
+        return borrowedBookRepository.save(BorrowedBook.builder()
+                .user(userRepository.findByEmail("reader5@library.local").orElseThrow())
+                .book(bookRepository.findAll().get(4))
+                .borrowDate(returnDate.minusDays(14))
+                .returnDate(returnDate)
+                .returned(true)
+                .returnedOn(returnDate)
+                .status("Returned")
+                .build());
+    }
+
+    private ReminderLog remind(BorrowedBook loan) {
+        return reminderLogRepository.save(ReminderLog.builder()
+                .borrowedBookId(loan.getId())
+                .userId(loan.getUser().getId())
+                .dueDate(loan.getReturnDate())
+                .sentAt(LocalDateTime.now())
+                .build());
+    }
+}
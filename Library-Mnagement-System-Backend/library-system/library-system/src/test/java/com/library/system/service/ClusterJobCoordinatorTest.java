@@ -0,0 +1,90 @@
+package com.library.system.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Triggers test jobs through the coordinator on the local profile and checks
+ * retry limits and lease checks.
+ */
+@SpringBootTest(properties = {"local.seed.users=5", "local.seed.books=5"})
+@ActiveProfiles("local")
+@AutoConfigureMockMvc
+class ClusterJobCoordinatorTest {
+
+    @Autowired
+    private ClusterJobCoordinator coordinator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void failingPartitionsStopAfterMaxAttempts() {
+        TestJob job = new TestJob("always-fails") {
+            @Override
+            public void runPartition(String runKey, int partition, int partitionCount, BooleanSupplier leaseHeld) {
+                super.runPartition(runKey, partition, partitionCount, leaseHeld);
+                throw new IllegalStateException("boom");
+            }
+        };
+
+        for (int i = 0; i < 5; i++) {
+            coordinator.trigger(job, "2026-01-01");
+        }
+        coordinator.trigger(job, "2026-01-02");
+
+        assertThat(job.runs).containsExactly("2026-01-01", "2026-01-01", "2026-01-01", "2026-01-02");
+    }
+
+    @Test
+    void leaseChecksFailOnceTheLeaseIsTaken() {
+        List<Boolean> checks = new ArrayList<>();
+        TestJob job = new TestJob("lease-taken") {
+            @Override
+            public void runPartition(String runKey, int partition, int partitionCount, BooleanSupplier leaseHeld) {
+                checks.add(leaseHeld.getAsBoolean());
+                jdbcTemplate.update("UPDATE job_lease SET owner = 'other-node' WHERE name = ?", getJobName() + "#0");
+                checks.add(leaseHeld.getAsBoolean());
+            }
+        };
+
+        coordinator.trigger(job, "2026-01-01");
+
+        assertThat(checks).containsExactly(true, false);
+    }
+
+    private static class TestJob implements ClusterJob {
+
+        private final String name;
+        final List<String> runs = new ArrayList<>();
+
+        TestJob(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getJobName() {
+            return name;
+        }
+
+        @Override
+        public int getPartitionCount() {
+            return 1;
+        }
+
+        @Override
+        public void runPartition(String runKey, int partition, int partitionCount, BooleanSupplier leaseHeld) {
+            runs.add(runKey);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.library.system.service;
+
+import com.library.system.model.Book;
+import com.library.system.model.BorrowedBook;
+import com.library.system.model.User;
+import com.library.system.repository.BookRepository;
+import com.library.system.repository.BorrowedBookRepository;
+import com.library.system.repository.UserRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the fine accrual job on the local profile and checks the stored fines,
+ * and that a fine is never written over a loan returned in the meantime.
+ */
+@SpringBootTest(properties = {"local.seed.users=5", "local.seed.books=5"})
+@ActiveProfiles("local")
+@AutoConfigureMockMvc
+class FineAccrualJobTest {
+
+    @Autowired
+    private FineAccrualJob fineAccrualJob;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowedBookRepository borrowedBookRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void overdueLoansGetTheirCurrentFine() {
+        LocalDate today = LocalDate.now();
+        BorrowedBook overdue = loan(today.minusDays(5));
+        BorrowedBook notDue = loan(today.plusDays(5));
+
+        for (int partition = 0; partition < fineAccrualJob.getPartitionCount(); partition++) {
+            fineAccrualJob.runPartition(today.toString(), partition, fineAccrualJob.getPartitionCount(), () -> true);
+        }
+
+        assertThat(borrowedBookRepository.findById(overdue.getId()).orElseThrow().getAccruedFine()).isEqualTo(50);
+        assertThat(borrowedBookRepository.findById(notDue.getId()).orElseThrow().getAccruedFine()).isZero();
+    }
+
+    @Test
+    void finesAreNotWrittenOverReturnedLoans() {
+        BorrowedBook loan = loan(LocalDate.now().minusDays(3));
+        loan.setReturned(true);
+        loan.setReturnedOn(LocalDate.now());
+        loan.setStatus("Returned");
+        borrowedBookRepository.save(loan);
+
+        Integer updated = transactionTemplate.execute(status -> borrowedBookRepository.updateAccruedFine(loan.getId(), 30));
+
+        BorrowedBook stored = borrowedBookRepository.findById(loan.getId()).orElseThrow();
+        assertThat(updated).isZero();
+        assertThat(stored.isReturned()).isTrue();
+        assertThat(stored.getStatus()).isEqualTo("Returned");
+        assertThat(stored.getAccruedFine()).isZero();
+    }
+
+    private BorrowedBook loan(LocalDate dueDate) {
+        User user = userRepository.findByEmail("reader4@library.local").orElseThrow();
+        Book book = bookRepository.findAll().get(3);
+        return borrowedBookRepository.save(BorrowedBook.builder()
+                .user(user)
+                .book(book)
+                .borrowDate(dueDate.minusDays(14))
+                .returnDate(dueDate)
+                .status("Pending")
+                .build());
+    }
+}
@@ -0,0 +1,150 @@
+package com.library.system.service;
+
+import com.library.system.batch.BatchJobRunner;
+import com.library.system.batch.BatchRunStats;
+import com.library.system.model.Book;
+import com.library.system.model.BorrowedBook;
+import com.library.system.model.User;
+import com.library.system.repository.BookRepository;
+import com.library.system.repository.BorrowedBookRepository;
+import com.library.system.repository.UserRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the reminder job on the local profile for loans due in a window no other
+ * test uses, and checks that each user gets one message per run and that loans
+ * already reminded are never reminded again.
+ */
+@SpringBootTest(properties = {"local.seed.users=5", "local.seed.books=5"})
+@ActiveProfiles("local")
+@AutoConfigureMockMvc
+class ReminderSchedulerTest {
+
+    private static final LocalDate RUN_DATE = LocalDate.of(2031, 3, 1);
+
+    @Autowired
+    private ReminderScheduler reminderScheduler;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowedBookRepository borrowedBookRepository;
+
+    @Autowired
+    private BatchJobRunner batchJobRunner;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rerunsOnlyRemindLoansWithoutAReminderLog() {
+        List<Book> books = bookRepository.findAll();
+        User reader2 = userRepository.findByEmail("reader2@library.local").orElseThrow();
+        User reader3 = userRepository.findByEmail("reader3@library.local").orElseThrow();
+        BorrowedBook first = loan(reader2, books.get(0), RUN_DATE.plusDays(1));
+        BorrowedBook second = loan(reader2, books.get(1), RUN_DATE.plusDays(2));
+        BorrowedBook third = loan(reader3, books.get(0), RUN_DATE.plusDays(2));
+
+        run(RUN_DATE);
+
+        assertThat(reminders(reader2)).hasSize(1).first().asString()
+                .contains("\"" + books.get(0).getTitle() + "\" (Due: " + RUN_DATE.plusDays(1) + ")")
+                .contains("\"" + books.get(1).getTitle() + "\" (Due: " + RUN_DATE.plusDays(2) + ")");
+        assertThat(reminders(reader3)).hasSize(1);
+        assertThat(loggedLoans(first, second, third)).isEqualTo(3);
+
+        // The next day's window still covers the loans due on day 2, and one more loan is now due
+        BorrowedBook fourth = loan(reader2, books.get(2), RUN_DATE.plusDays(3));
+        run(RUN_DATE.plusDays(1));
+
+        List<String> reader2Reminders = reminders(reader2);
+        assertThat(reader2Reminders).hasSize(2);
+        assertThat(reader2Reminders.get(1))
+                .contains(books.get(2).getTitle())
+                .doesNotContain("\"" + books.get(1).getTitle() + "\"");
+        assertThat(reminders(reader3)).hasSize(1);
+        assertThat(loggedLoans(first, second, third, fourth)).isEqualTo(4);
+    }
+
+    @Test
+    void usersArePagedAcrossChunksWithOneMessageEach() {
+        LocalDate runDate = LocalDate.of(2032, 6, 1);
+        Book book = bookRepository.findAll().get(0);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            users.add(User.builder().name("Pager " + i).email("pager" + i + "@library.local")
+                    .password("x").role("user").mobile(String.format("70000000%02d", i)).build());
+        }
+        for (User user : userRepository.saveAll(users)) {
+            loan(user, book, runDate.plusDays(1 + user.getId() % 2));
+        }
+
+        int pageSize = (int) ReflectionTestUtils.getField(reminderScheduler, "pageSize");
+        ReflectionTestUtils.setField(reminderScheduler, "pageSize", 5);
+        try {
+            run(runDate);
+        } finally {
+            ReflectionTestUtils.setField(reminderScheduler, "pageSize", pageSize);
+        }
+
+        Long messages = jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT mobile) FROM outbox_message "
+                + "WHERE type = 'REMINDER' AND mobile LIKE '70000000%' AND body LIKE '%2032-06-%'", Long.class);
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_message "
+                + "WHERE type = 'REMINDER' AND mobile LIKE '70000000%' AND body LIKE '%2032-06-%'", Long.class);
+        assertThat(messages).isEqualTo(60);
+        assertThat(total).isEqualTo(60);
+        long chunks = batchJobRunner.getLastRuns().stream()
+                .filter(stats -> stats.step().startsWith("reminders#") && stats.runKey().equals(runDate.toString()))
+                .mapToLong(BatchRunStats::chunks)
+                .sum();
+        assertThat(chunks).isGreaterThanOrEqualTo(12);
+    }
+
+    private void run(LocalDate runDate) {
+        for (int partition = 0; partition < reminderScheduler.getPartitionCount(); partition++) {
+            reminderScheduler.runPartition(runDate.toString(), partition, reminderScheduler.getPartitionCount(),
+                    () -> true);
+        }
+    }
+
+    private BorrowedBook loan(User user, Book book, LocalDate dueDate) {
+        return borrowedBookRepository.save(BorrowedBook.builder()
+                .user(user)
+                .book(book)
+                .borrowDate(dueDate.minusDays(10))
+                .returnDate(dueDate)
+                .status("Pending")
+                .build());
+    }
+
+    private List<String> reminders(User user) {
+        return jdbcTemplate.queryForList("SELECT body FROM outbox_message WHERE type = 'REMINDER' "
+                + "AND mobile = ? AND body LIKE '%2031-03-%' ORDER BY id", String.class, user.getMobile());
+    }
+
+    private long loggedLoans(BorrowedBook... loans) {
+        long count = 0;
+        for (BorrowedBook loan : loans) {
+            count += jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reminder_log WHERE borrowed_book_id = ?",
+                    Long.class, loan.getId());
+        }
+        return count;
+    }
+}
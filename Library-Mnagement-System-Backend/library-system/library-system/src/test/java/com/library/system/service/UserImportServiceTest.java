@@ -0,0 +1,104 @@
+package com.library.system.service;
+
+import com.library.system.dto.UserImportReport;
+import com.library.system.dto.UserImportReport.RowError;
+import com.library.system.model.User;
+import com.library.system.repository.UserRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Imports small CSV files on the local profile and checks the per-row report,
+ * the stored users, and the row-by-row retry after a failed batch.
+ */
+@SpringBootTest(properties = {"local.seed.users=5", "local.seed.books=5"})
+@ActiveProfiles("local")
+@AutoConfigureMockMvc
+class UserImportServiceTest {
+
+    private static final String HEADER = "name,email,mobile,password,role\n";
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Test
+    void splitsQuotedFieldsAndDoubledQuotes() {
+        assertThat(UserImportService.splitCsvLine("a,b,,d")).containsExactly("a", "b", "", "d");
+        assertThat(UserImportService.splitCsvLine("\"Doe, Jane\",x")).containsExactly("Doe, Jane", "x");
+        assertThat(UserImportService.splitCsvLine("\"say \"\"hi\"\"\",\"\"")).containsExactly("say \"hi\"", "");
+        assertThat(UserImportService.splitCsvLine("a,")).containsExactly("a", "");
+    }
+
+    @Test
+    void duplicatesInTheFileAndTheDatabaseAreReportedPerRow() throws IOException {
+        UserImportReport report = importCsv(HEADER
+                + "\"Doe, \"\"JD\"\" Jane\",import-one@library.local,8200000001,secret,\n"
+                + "Again,IMPORT-ONE@library.local,8200000002,secret,user\n"
+                + "Same Mobile,import-two@library.local,8200000001,secret,user\n"
+                + "\n"
+                + "Taken Email,reader1@library.local,8200000003,secret,user\n"
+                + "Taken Mobile,import-three@library.local,9000000002,secret,user\n"
+                + "Bad Mobile,import-four@library.local,12345,secret,user\n"
+                + "Admin,import-five@library.local,8200000005,secret,ADMIN\n");
+
+        assertThat(report.totalRows()).isEqualTo(7);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.failed()).isEqualTo(5);
+        assertThat(report.errors()).containsExactlyInAnyOrder(
+                new RowError(3, "IMPORT-ONE@library.local", "Duplicate email in file"),
+                new RowError(4, "import-two@library.local", "Duplicate mobile number in file"),
+                new RowError(6, "reader1@library.local", "Email already registered"),
+                new RowError(7, "import-three@library.local", "Mobile number already registered"),
+                new RowError(8, "import-four@library.local", "Mobile number must be 10 digits"));
+
+        User first = userRepository.findByEmail("import-one@library.local").orElseThrow();
+        assertThat(first.getName()).isEqualTo("Doe, \"JD\" Jane");
+        assertThat(first.getRole()).isEqualTo("user");
+        assertThat(passwordEncoder.matches("secret", first.getPassword())).isTrue();
+        assertThat(userRepository.findByEmail("import-five@library.local").orElseThrow().getRole())
+                .isEqualTo("admin");
+        assertThat(userRepository.existsByEmail("import-two@library.local")).isFalse();
+    }
+
+    @Test
+    void aFailedBatchIsRetriedRowByRow() throws IOException {
+        // Passes validation but is too long for the name column, so the batch insert fails
+        String longName = "N".repeat(300);
+        UserImportReport report = importCsv(HEADER
+                + "Batch One,batch-one@library.local,8300000001,secret,user\n"
+                + longName + ",batch-two@library.local,8300000002,secret,user\n"
+                + "Batch Three,batch-three@library.local,8300000003,secret,user\n");
+
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.failed()).isEqualTo(1);
+        assertThat(report.errors()).singleElement().satisfies(error -> {
+            assertThat(error.line()).isEqualTo(3);
+            assertThat(error.email()).isEqualTo("batch-two@library.local");
+            assertThat(error.message()).startsWith("Insert failed: ");
+        });
+        assertThat(userRepository.existsByEmail("batch-one@library.local")).isTrue();
+        assertThat(userRepository.existsByEmail("batch-two@library.local")).isFalse();
+        assertThat(userRepository.existsByEmail("batch-three@library.local")).isTrue();
+    }
+
+    private UserImportReport importCsv(String csv) throws IOException {
+        return userImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
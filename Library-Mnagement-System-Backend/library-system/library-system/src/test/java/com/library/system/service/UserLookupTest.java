@@ -0,0 +1,94 @@
+package com.library.system.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Adds a user with plain JDBC, as another node would, and checks that the
+ * password reset flow and registration see it.
+ */
+@SpringBootTest(properties = {"local.seed.users=5", "local.seed.books=5"})
+@ActiveProfiles("local")
+@AutoConfigureMockMvc
+class UserLookupTest {
+
+    private static final String EMAIL = "other-node@library.local";
+    private static final String MOBILE = "8000000001";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void usersRegisteredElsewhereAreFound() throws Exception {
+        jdbcTemplate.update("INSERT INTO user (name, email, password, role, mobile) VALUES (?, ?, ?, ?, ?)",
+                "Other Node", EMAIL, "x", "user", MOBILE);
+
+        mockMvc.perform(get("/api/users/by-mobile").param("mobile", MOBILE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(EMAIL));
+
+        mockMvc.perform(post("/api/users/send-otp").param("mobile", MOBILE))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(asyncDispatch(register("Dup", EMAIL, "8000000002")))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void seededUsersAreFoundByMobile() throws Exception {
+        mockMvc.perform(get("/api/users/by-mobile").param("mobile", "9000000001"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void registeredUsersCanResetTheirPassword() throws Exception {
+        mockMvc.perform(asyncDispatch(register("New User", "new-user@library.local", "8000000003")))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.email").value("new-user@library.local"));
+
+        mockMvc.perform(post("/api/users/reset-password")
+                        .param("mobile", "8000000003")
+                        .param("newPassword", "changed"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/users/reset-password")
+                        .param("mobile", "8000000099")
+                        .param("newPassword", "changed"))
+                .andExpect(status().isNotFound());
+
+        assertThat(userService.login("new-user@library.local", "changed")).isNotNull();
+        assertThat(userService.login("new-user@library.local", "secret")).isNull();
+    }
+
+    /**
+     * Starts a registration and returns the started async request.
+     */
+    private MvcResult register(String name, String email, String mobile) throws Exception {
+        return mockMvc.perform(post("/api/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"email\":\"" + email + "\",\"password\":\"secret\","
+                                + "\"mobile\":\"" + mobile + "\",\"role\":\"user\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+}
@@ -4,8 +4,15 @@ import Footer from "../components/Footer";
 import axios from "axios";
 
 function AdminDashboard() {
-  const [totalBooks, setTotalBooks] = useState(0);
-  const [availableBooks, setAvailableBooks] = useState(0);
+  const [dashboard, setDashboard] = useState({
+    totalBooks: 0,
+    availableBooks: 0,
+    activeLoans: 0,
+    overdueLoans: 0,
+    finesOutstanding: 0,
+    checkoutsToday: 0,
+    returnsToday: 0,
+  });
   const navigate = useNavigate();
 
   useEffect(
@@ -17,7 +24,7 @@ function AdminDashboard() {
       if (!token || role !== "admin") {
         navigate("/admin-login", { replace: true });
       } else {
-        fetchBookCounts(); // Fetch counts if authorized
+        fetchDashboard(); // Fetch figures if authorized
       }
 
       // ✅ Prevent back navigation
@@ -35,23 +42,32 @@ function AdminDashboard() {
     [navigate]
   );
 
-  // ✅ Fetch total books and available books
-  async function fetchBookCounts() {
+  // ✅ Fetch all dashboard figures in one request
+  async function fetchDashboard() {
     try {
-      const totalResponse = await axios.get(
-        "http://localhost:8080/api/books/count"
-      );
-      const availableResponse = await axios.get(
-        "http://localhost:8080/api/books/count/available"
+      const response = await axios.get(
+        "http://localhost:8080/api/admin/dashboard",
+        {
+          headers: {
+            Authorization: "Bearer " + localStorage.getItem("token"),
+          },
+        }
       );
 
-      setTotalBooks(totalResponse.data);
-      setAvailableBooks(availableResponse.data);
+      setDashboard(response.data);
     } catch (error) {
-      console.error("Failed to fetch book counts", error);
+      console.error("Failed to fetch dashboard", error);
     }
   }
 
+  const loanCards = [
+    { title: "Borrowed Books", value: dashboard.activeLoans, color: "bg-info" },
+    { title: "Overdue Loans", value: dashboard.overdueLoans, color: "bg-danger" },
+    { title: "Fines Outstanding", value: "₹" + dashboard.finesOutstanding, color: "bg-warning" },
+    { title: "Checkouts Today", value: dashboard.checkoutsToday, color: "bg-secondary" },
+    { title: "Returns Today", value: dashboard.returnsToday, color: "bg-dark" },
+  ];
+
   return (
     <div className="d-flex flex-column min-vh-100 bg-light">
       <div className="container py-5 flex-grow-1">
@@ -67,7 +83,7 @@ function AdminDashboard() {
               <div className="card text-white bg-primary shadow h-100">
                 <div className="card-body">
                   <h5 className="card-title">Total Books</h5>
-                  <p className="fs-4">{totalBooks}</p>
+                  <p className="fs-4">{dashboard.totalBooks}</p>
                 </div>
               </div>
             </div>
@@ -77,12 +93,28 @@ function AdminDashboard() {
               <div className="card text-white bg-success shadow h-100">
                 <div className="card-body">
                   <h5 className="card-title">Available Books</h5>
-                  <p className="fs-4">{availableBooks}</p>
+                  <p className="fs-4">{dashboard.availableBooks}</p>
                 </div>
               </div>
             </div>
           </div>
 
+          {/* Loan Cards */}
+          <div className="row g-4 justify-content-center w-100 mb-4">
+            {loanCards.map(function (card) {
+              return (
+                <div className="col-sm-6 col-md-2" key={card.title}>
+                  <div className={"card text-white shadow h-100 " + card.color}>
+                    <div className="card-body">
+                      <h6 className="card-title">{card.title}</h6>
+                      <p className="fs-5">{card.value}</p>
+                    </div>
+                  </div>
+                </div>
+              );
+            })}
+          </div>
+
           {/* Book Management Options */}
           <div className="text-center">
             <h5 className="mb-3">Library Management</h5>